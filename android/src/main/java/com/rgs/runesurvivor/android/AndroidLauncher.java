@@ -5,6 +5,7 @@ import android.os.Bundle;
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.rgs.runesurvivor.RuneSurvivorGame;
+import com.rgs.runesurvivor.world.jvm.JvmTerrainPlatform;
 
 /** Launches the Android application. */
 public class AndroidLauncher extends AndroidApplication {
@@ -13,6 +14,6 @@ public class AndroidLauncher extends AndroidApplication {
         super.onCreate(savedInstanceState);
         AndroidApplicationConfiguration configuration = new AndroidApplicationConfiguration();
         configuration.useImmersiveMode = true; // Recommended, but not required.
-        initialize(new RuneSurvivorGame(), configuration);
+        initialize(new RuneSurvivorGame(new JvmTerrainPlatform()), configuration);
     }
 }
\ No newline at end of file
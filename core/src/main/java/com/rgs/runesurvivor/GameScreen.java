@@ -61,8 +61,13 @@ public class GameScreen implements Screen {
     // (WorldManager already has a toggle)
 
     // scratch
-    private final Vector2 camCenterTmp = new Vector2();
-    private final Vector2 playerPosTmp = new Vector2();
+    private final Vector2 moveTmp = new Vector2();
+
+    // gameplay runs on the simulation (its own thread where there is one); we draw its snapshots
+    private com.rgs.runesurvivor.world.Simulation simulation;
+    private final com.rgs.runesurvivor.world.Simulation.Input simInput = new com.rgs.runesurvivor.world.Simulation.Input();
+    private long respawnTicket;   // posted respawn; snapshots older than it still show the dead player
+    private long saveTicket;      // save once the simulation has applied this command (0 = none)
 
     // UI button style resources
     private final Array<Texture> uiTextures = new Array<>();
@@ -72,7 +77,7 @@ public class GameScreen implements Screen {
     private final Vector3 mouseTmp = new Vector3();
     private final Vector2 mouseWorld = new Vector2();
 
-    private com.rgs.runesurvivor.world.IslandRenderer island;
+    private com.rgs.runesurvivor.world.Archipelago island; // home island + paged neighbours
 
     // Save / autosave
     private com.rgs.runesurvivor.save.SaveManager saveManager;
@@ -94,6 +99,11 @@ public class GameScreen implements Screen {
     private com.badlogic.gdx.graphics.Texture pauseIconUpTex, pauseIconDownTex;
 
     private com.rgs.runesurvivor.world.DashFxSystem dashFx;
+    private com.rgs.runesurvivor.world.RenderQueue renderQueue;
+    // What the render queue's worker builds this frame's sprites from (set on the GL thread first)
+    private com.rgs.runesurvivor.world.RenderSnapshot drawSnap;
+    private final com.badlogic.gdx.math.Rectangle drawView = new com.badlogic.gdx.math.Rectangle();
+    private final com.rgs.runesurvivor.world.RenderQueue.Builder drawList = this::submitSprites;
     private float ghostSpawnTimer = 0f;
     private static final float GHOST_SPAWN_EVERY = 0.028f; // ~35 ghosts/sec while dashing
 
@@ -102,8 +112,6 @@ public class GameScreen implements Screen {
 
     private com.rgs.runesurvivor.ui.HealthPotionUI healthPotion;
 
-    private com.rgs.runesurvivor.world.ResourceManager resourceManager;
-
     private com.rgs.runesurvivor.world.CoinManager coinManager;
 
 
@@ -111,6 +119,7 @@ public class GameScreen implements Screen {
         this.game = game;
 
         dashFx = new com.rgs.runesurvivor.world.DashFxSystem();
+        renderQueue = new com.rgs.runesurvivor.world.RenderQueue();
 
         // Stages (world + UI)
         worldStage = new Stage(new ExtendViewport(800, 480), game.batch);
@@ -124,13 +133,10 @@ public class GameScreen implements Screen {
         saveManager = new com.rgs.runesurvivor.save.SaveManager();
         long islandSeed = saveManager.getOrCreateIslandSeed();
 
-        island = new com.rgs.runesurvivor.world.IslandRenderer(
-            512, 512, 40f, (int)(islandSeed & 0x7fffffff), worldManager.getWorld()
-        );
-
-        // resources (deterministic from the same seed)
-        resourceManager = new com.rgs.runesurvivor.world.ResourceManager(
-            island, islandSeed, worldManager.getWorld()
+        // Archipelago: home island from the saved seed, neighbours paged in/out around the camera.
+        // Each island's terrain + resource nodes come from its on-disk cache after the first visit.
+        island = new com.rgs.runesurvivor.world.Archipelago(
+            islandSeed, worldManager.getWorld(), 512, 512, 40f, game.terrainPlatform
         );
 
 
@@ -138,29 +144,28 @@ public class GameScreen implements Screen {
         com.badlogic.gdx.math.Vector2 spawn = island.findCenterLandSpawn();
 
         // Create player at safe land
-        player = new Player(worldManager, spawn.x, spawn.y, inputController);
+        player = new Player(worldManager, spawn.x, spawn.y);
         player.setSwordEquipped(false);
 
         // Try to load player state; if loaded position is water, snap to nearest land
         if (saveManager.loadPlayer(player)) {
-            float px = player.getBody().getPosition().x;
-            float py = player.getBody().getPosition().y;
+            float px = player.getPosition().x;
+            float py = player.getPosition().y;
+            island.ensureResident(px, py); // the save may be on another island
             if (island.isWaterWorld(px, py)) {
-                com.badlogic.gdx.math.Vector2 safe = island.findNearestLand(px, py, 1024);
+                com.badlogic.gdx.math.Vector2 safe = new com.badlogic.gdx.math.Vector2();
+                island.findNearestLand(px, py, 1024, safe);
                 player.setPosition(safe.x, safe.y);
             }
         } else {
             // ensure an initial save exists
             saveManager.savePlayer(player);
         }
+        worldManager.resetClock(); // nothing banked from before the load (the simulation isn't running yet)
         // Camera follow + snap
         cameraController = new com.rgs.runesurvivor.world.CameraController(worldStage.getCamera(), player);
-        worldStage.getCamera().position.set(
-            player.getBody().getPosition().x,
-            player.getBody().getPosition().y,
-            0f
-        );
-        worldStage.getCamera().update();
+        cameraController.setIsland(island);
+        cameraController.update(); // snaps to the player and builds the chunks around it
 
         // Try to load existing save; otherwise start at center
         if (!saveManager.loadPlayer(player)) {
@@ -178,12 +183,9 @@ public class GameScreen implements Screen {
         inventoryOverlay = new com.rgs.runesurvivor.ui.InventoryOverlay(
             player.isSwordEquipped(),
             equipped -> {
-                player.setSwordEquipped(equipped);
                 inventoryOverlay.setSwordEquipped(equipped);
-                // instant save on equipment change
-                saveManager.savePlayer(player);
-                lastSaved = snapshotPlayer(player);
-                autosaveTimer = 0f;
+                // applied on the simulation; instant save once it has been
+                saveTicket = simulation.post(() -> player.setSwordEquipped(equipped));
             }
         );
 
@@ -193,6 +195,11 @@ public class GameScreen implements Screen {
         // reflect current gold in inventory now (and whenever it opens)
         inventoryOverlay.setGold(player.getGold());
 
+        // Simulation thread on desktop with a spare core; web/mobile/single core step inline
+        boolean threaded = Gdx.app.getType() == com.badlogic.gdx.Application.ApplicationType.Desktop
+            && Runtime.getRuntime().availableProcessors() > 1;
+        simulation = new com.rgs.runesurvivor.world.Simulation(worldManager, player, enemyManager, coinManager, threaded);
+
         deathOverlay = new com.rgs.runesurvivor.ui.DeathOverlay(new com.rgs.runesurvivor.ui.DeathOverlay.Listener() {
             @Override public void onRespawn() { respawnPlayer(); }
             @Override public void onMainMenu() { requestExitToMainMenu(); }
@@ -228,17 +235,16 @@ public class GameScreen implements Screen {
             // Listener: only consume if allowed, then heal 20% max HP
             () -> {
                 if (paused || dead || inventoryOpen) return false;
-                if (player.getCurrentHp() <= 0f) return false; // already dead
-                float max = player.getMaxHp();
-                float cur = player.getCurrentHp();
-                if (cur >= max) return false; // no effect at full health
+                com.rgs.runesurvivor.world.RenderSnapshot s = simulation.front();
+                if (s.hp <= 0f) return false; // already dead
+                float max = s.maxHp;
+                if (s.hp >= max) return false; // no effect at full health
                 float heal = max * 0.20f;
-                player.setCurrentHp(Math.min(max, cur + heal));
+                simulation.post(() -> player.setCurrentHp(Math.min(player.getMaxHp(), player.getCurrentHp() + heal)));
 
                 // Optional: green heal pop
                 try {
-                    com.badlogic.gdx.math.Vector2 p = player.getBody().getPosition();
-                    hitMarkers.spawn(p.x, p.y + 40f, "+" + Math.round(heal),
+                    hitMarkers.spawn(s.playerDrawX(), s.playerDrawY() + 40f, "+" + Math.round(heal),
                         new com.badlogic.gdx.graphics.Color(0.25f, 1f, 0.35f, 1f), 0.9f);
                 } catch (Throwable ignored) {}
                 return true;
@@ -270,7 +276,7 @@ public class GameScreen implements Screen {
         if (inventoryOverlay == null) return;
 
         // refresh UI (gold, etc.) right before showing
-        inventoryOverlay.setGold(player.getGold());
+        inventoryOverlay.setGold(simulation.front().gold);
         inventoryOverlay.show();
         inventoryOpen = true;
 
@@ -307,6 +313,8 @@ public class GameScreen implements Screen {
         } else {
             pauseOverlay.hide();
             Gdx.input.setInputProcessor(new InputMultiplexer(uiStage, inputController));
+            // drop the step fraction banked before the pause (applied before the next step)
+            if (simulation != null) simulation.post(worldManager::resetClock);
         }
         escGate = true; escCooldown = 0.12f;
     }
@@ -315,9 +323,6 @@ public class GameScreen implements Screen {
 
     @Override
     public void render(float delta) {
-        if (inventoryOpen) {
-            inventoryOverlay.setGold(player.getGold());
-        }
         if (exiting) {
             Gdx.gl.glClearColor(0f,0f,0f,1f);
             Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -358,37 +363,94 @@ public class GameScreen implements Screen {
             closeInventory();  // updates flag + restores input routing
         }
 
-        // Simulation pauses if either paused or inventoryOpen
+        // ---- frame hand-off: wait for last frame's batch; the world is idle until simulation.start ----
+        simulation.sync();
+        com.rgs.runesurvivor.world.RenderSnapshot snap = simulation.front();
+
+        // Detect death (a snapshot from before a queued respawn still has the old HP)
+        if (!dead && snap.appliedCommands >= respawnTicket && snap.hp <= 0f) {
+            onPlayerDeath();
+        }
+        if (inventoryOpen) {
+            inventoryOverlay.setGold(snap.gold);
+        }
+
+        // Saves read the player, so they happen here while nothing is stepping
+        if (saveTicket > 0 && snap.appliedCommands >= saveTicket) {
+            saveTicket = 0;
+            saveManager.savePlayer(player);
+            lastSaved = snapshotPlayer(player);
+            autosaveTimer = 0f;
+        }
+        autosaveTimer += delta;
+
+        // Build current snapshot
+        PlayerSnapshot cur = snapshotPlayer(player);
+
+        // Save if anything changed and we’re beyond the debounce window
+        if (differs(cur, lastSaved) && autosaveTimer >= AUTOSAVE_MIN_INTERVAL) {
+            saveManager.savePlayer(player);
+            lastSaved = cur;
+            autosaveTimer = 0f;
+        }
+
+        // Terrain streaming creates/destroys water colliders: also only while idle
+        cameraController.stream();
+
+        // Simulation pauses if paused (or dead)
         boolean simulate = !paused;
         if (simulate) {
-            worldManager.step();
-            player.update();
-            cameraController.update();
+            // Mouse world position (last frame's camera)
+            mouseTmp.set(Gdx.input.getX(), Gdx.input.getY(), 0f);
+            worldStage.getCamera().unproject(mouseTmp);
+            mouseWorld.set(mouseTmp.x, mouseTmp.y);
 
-            // Detect death
-            if (!dead && player.getCurrentHp() <= 0f) {
-                onPlayerDeath();
-            }
+            // This frame's input; edge-triggered presses are latched by the simulation until a step uses them
+            inputController.getMove(moveTmp);
+            boolean swordInput = !inventoryOpen && snap.swordEquipped;
+            simInput.moveX = moveTmp.x;
+            simInput.moveY = moveTmp.y;
+            simInput.mouseX = mouseWorld.x;
+            simInput.mouseY = mouseWorld.y;
+            simInput.viewWidth = worldStage.getViewport().getWorldWidth();
+            simInput.viewHeight = worldStage.getViewport().getWorldHeight();
+            simInput.dashPressed = !inventoryOpen && Gdx.input.isKeyJustPressed(Input.Keys.SPACE);
+            simInput.attackPressed = swordInput && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT);
+            simInput.attackHeld = swordInput && Gdx.input.isButtonPressed(Input.Buttons.LEFT);
+
+            // ---- fixed steps for this frame's time; threaded, they run while we draw the last snapshot.
+            //      Box2D debug draw reads the world, so with it on the steps run inline ----
+            simulation.start(delta, simInput, worldManager.isDebugEnabled());
+        }
+        snap = simulation.front(); // the new one if the batch ran inline
+
+        // One-shot effects raised by the steps
+        for (int i = 0; i < snap.markers.size; i++) {
+            com.rgs.runesurvivor.world.RenderSnapshot.Marker m = snap.markers.get(i);
+            hitMarkers.spawn(m.x, m.y, m.text, m.color, m.life);
+        }
+        for (int i = 0; i + 1 < snap.dashWaves.size; i += 2) {
+            dashFx.spawnWave(snap.dashWaves.get(i), snap.dashWaves.get(i + 1), 12f, 220f); // small -> big ring
+            ghostSpawnTimer = 0f; // reset ghost cadence
+        }
+        snap.clearEvents();
 
-            camCenterTmp.set(worldStage.getCamera().position.x, worldStage.getCamera().position.y);
-            playerPosTmp.set(player.getBody().getPosition());
-            float vw = worldStage.getViewport().getWorldWidth();
-            float vh = worldStage.getViewport().getWorldHeight();
-            enemyManager.update(delta, camCenterTmp, playerPosTmp, vw, vh, player, hitMarkers);
-            coinManager.update(delta, player);
+        cameraController.follow(snap.playerDrawX(), snap.playerDrawY());
 
+        if (simulate) {
+            // Effects only, on the frame clock
             dashFx.update(delta);
+            hitMarkers.update(delta);
 
             // spawn ghosts while dashing
-            if (player.isDashing()) {
+            if (snap.dashing) {
                 ghostSpawnTimer += delta;
                 while (ghostSpawnTimer >= GHOST_SPAWN_EVERY) {
                     ghostSpawnTimer -= GHOST_SPAWN_EVERY;
 
-                    // center = body, size = current player size, facing => flipX
-                    float cx = player.getBody().getPosition().x;
-                    float cy = player.getBody().getPosition().y;
-                    dashFx.spawnGhost(cx, cy, player.getWidth(), player.getHeight(), 0f, !player.isFacingRight());
+                    // center = drawn player, size = player size, facing => flipX
+                    dashFx.spawnGhost(snap.playerDrawX(), snap.playerDrawY(),
+                        player.getWidth(), player.getHeight(), 0f, !snap.facingRight);
                 }
             }
 
@@ -399,37 +461,26 @@ public class GameScreen implements Screen {
             }
         }
 
-        autosaveTimer += delta;
-
-        // Build current snapshot
-        PlayerSnapshot cur = snapshotPlayer(player);
-
-        // Save if anything changed and we’re beyond the debounce window
-        if (differs(cur, lastSaved) && autosaveTimer >= AUTOSAVE_MIN_INTERVAL) {
-            saveManager.savePlayer(player);
-            lastSaved = cur;
-            autosaveTimer = 0f;
-        }
-
         // Draw
         Gdx.gl.glClearColor(0f, 0f, 0f, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        // 1) The render queue's worker builds and sorts the sprite list (layer + Y) from the snapshot
+        drawSnap = snap;
+        com.rgs.runesurvivor.world.Archipelago.viewOf(worldStage.getCamera(), drawView);
+        renderQueue.buildAsync(drawList);
+
         game.batch.setProjectionMatrix(worldStage.getCamera().combined);
         game.batch.begin();
 
-        // 1) Terrain first
+        // 2) Terrain first (while the queue is built), then the cached trees/rocks
         island.render(game.batch);
+        game.batch.end();
+        island.renderResources(worldStage.getCamera());
+        game.batch.begin();
 
-        // 2) Characters (draw these UNDER resource nodes)
-        enemyManager.render(game.batch);
-        coinManager.render(game.batch);
-        player.renderSword(game.batch);          // (ok if this ends up under trees too)
-        dashFx.renderGhosts(game.batch, player.getTexture());
-        player.render(game.batch);
-
-        // 3) Resource nodes ON TOP of the player
-        if (resourceManager != null) resourceManager.render(game.batch);
+        // 3) Sorted sprites
+        renderQueue.replay(game.batch);
 
         // 4) Overlays that should stay above everything
         hitMarkers.render(game.batch);
@@ -437,17 +488,15 @@ public class GameScreen implements Screen {
         game.batch.end();
 
 
-        // ---- FILLED shapes (BEGIN before calling Enemy.renderAttack!) ----
+        // ---- FILLED shapes (BEGIN before calling enemyManager.renderAttacks!) ----
         shapeRenderer.setProjectionMatrix(worldStage.getCamera().combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
 
         // Enemy attack telegraphs (windup/strike wedges)
-        for (com.rgs.runesurvivor.entities.Enemy e : enemyManager.getEnemies()) {
-            e.renderAttack(shapeRenderer);  // <- MUST be inside begin/end
-        }
+        enemyManager.renderAttacks(shapeRenderer, snap);  // <- MUST be inside begin/end
 
         // Player HP bar
-        player.renderHpBar(shapeRenderer);
+        player.renderHpBar(shapeRenderer, snap);
 
         if (healthPotion != null) healthPotion.update(delta);
 
@@ -458,46 +507,6 @@ public class GameScreen implements Screen {
         uiStage.act(delta);
         uiStage.draw();
 
-        if (!paused) {
-            worldManager.step();
-            player.update();
-            cameraController.update();
-
-            float vw = worldStage.getViewport().getWorldWidth();
-            float vh = worldStage.getViewport().getWorldHeight();
-            enemyManager.update(delta, camCenterTmp, playerPosTmp, vw, vh, player, hitMarkers);
-
-            // Mouse world position
-            mouseTmp.set(Gdx.input.getX(), Gdx.input.getY(), 0f);
-            worldStage.getCamera().unproject(mouseTmp);
-            mouseWorld.set(mouseTmp.x, mouseTmp.y);
-
-            boolean dashPressed = !paused && !inventoryOpen && Gdx.input.isKeyJustPressed(Input.Keys.SPACE);
-            if (dashPressed) {
-                if (player.tryStartDash(mouseWorld)) {
-                    // spawn one shockwave at dash start
-                    com.badlogic.gdx.math.Vector2 p = player.getBody().getPosition();
-                    dashFx.spawnWave(p.x, p.y, 12f, 220f); // small -> big ring
-                    ghostSpawnTimer = 0f; // reset ghost cadence
-                }
-            }
-
-            // Left click attack (disable while inventory open)
-            boolean atkPressed = !inventoryOpen
-                && player.isSwordEquipped()
-                && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT);
-
-            boolean atkHeld = !inventoryOpen
-                && player.isSwordEquipped()
-                && Gdx.input.isButtonPressed(Input.Buttons.LEFT);
-
-            player.updateCombat(delta, mouseWorld, atkPressed, atkHeld, enemyManager, hitMarkers);
-
-
-            // Hit markers
-            hitMarkers.update(delta);
-        }
-
         if (paused) {
             pauseOverlay.actAndDraw(delta);
         }
@@ -515,6 +524,16 @@ public class GameScreen implements Screen {
         shapeRenderer.end();
     }
 
+    // Render queue worker: this frame's sprites from the published snapshot; the GL thread only
+    // draws the terrain and the cached nodes until it replays the result
+    private void submitSprites(com.rgs.runesurvivor.world.RenderQueue queue) {
+        coinManager.submit(queue, drawSnap);
+        enemyManager.submit(queue, drawSnap);
+        dashFx.submitGhosts(queue, player.getTexture());
+        player.submit(queue, drawSnap);
+        island.submitResources(queue, drawView); // trees/rocks in front of/behind characters
+    }
+
     @Override
     public void resize(int width, int height) {
         worldStage.getViewport().update(width, height, true);
@@ -530,6 +549,9 @@ public class GameScreen implements Screen {
     @Override
     public void dispose() {
 
+        // 0) stop stepping (finishes the batch in flight)
+        if (simulation != null) { simulation.dispose(); simulation = null; }
+
         // 1) tear down systems that DESTROY BODIES/ FIXTURES
         //    (must happen while World is still alive)
         if (enemyManager != null) {
@@ -538,7 +560,7 @@ public class GameScreen implements Screen {
         }
         if (coinManager != null) { coinManager.dispose(); coinManager = null; }
         if (island != null) {
-            island.dispose();         // destroys water-edge bodies
+            island.dispose();         // destroys water-edge + resource node bodies
             island = null;
         }
         // Player: DO NOT destroy the player body explicitly;
@@ -562,13 +584,12 @@ public class GameScreen implements Screen {
         if (inventoryOverlay != null) { inventoryOverlay.dispose(); inventoryOverlay = null; }
         if (hitMarkers != null) { hitMarkers.dispose(); hitMarkers = null; }
         if (shapeRenderer != null) { shapeRenderer.dispose(); shapeRenderer = null; }
+        if (renderQueue != null) { renderQueue.dispose(); renderQueue = null; }
 
         // 4) anything else (textures, button skins you track in arrays, etc.)
         // uiTextures, etc…
 
         if (healthPotion != null) { healthPotion.dispose(); healthPotion = null; }
-
-        if (resourceManager != null) { resourceManager.dispose(); resourceManager = null; }
     }
 
     // ---- small style helper for the HUD button ----
@@ -601,8 +622,8 @@ public class GameScreen implements Screen {
 
     private PlayerSnapshot snapshotPlayer(Player p) {
         PlayerSnapshot s = new PlayerSnapshot();
-        s.x = p.getBody().getPosition().x;
-        s.y = p.getBody().getPosition().y;
+        s.x = p.getPosition().x;
+        s.y = p.getPosition().y;
         s.maxHp = p.getMaxHp();
         s.currentHp = p.getCurrentHp();
         s.attack = p.getAttack();
@@ -631,6 +652,7 @@ public class GameScreen implements Screen {
         if (exiting) return;
         exiting = true;
 
+        if (simulation != null) simulation.sync(); // the player must not be mid-step while we save it
         if (saveManager != null) saveManager.savePlayer(player);
 
         // stop Box2D debug draw, stop taking input from THIS screen
@@ -712,13 +734,15 @@ public class GameScreen implements Screen {
         // Find a safe land point near island center
         com.badlogic.gdx.math.Vector2 spawn = island.findCenterLandSpawn();
 
-        // Reset player
-        player.setPosition(spawn.x, spawn.y);
-        player.setCurrentHp(player.getMaxHp());
-        try { player.setStamina(player.getMaxStamina()); } catch (Throwable ignored) {}
-
-        // (Optional) clear nearby enemies so you don't get chain-killed immediately
-        if (enemyManager != null) enemyManager.despawnWithinRadius(spawn, 450f);
+        // Reset player and (optional) clear nearby enemies so you don't get chain-killed immediately;
+        // applied by the simulation before its next step
+        respawnTicket = simulation.post(() -> {
+            player.setPosition(spawn.x, spawn.y);
+            player.setCurrentHp(player.getMaxHp());
+            try { player.setStamina(player.getMaxStamina()); } catch (Throwable ignored) {}
+            if (enemyManager != null) enemyManager.despawnWithinRadius(spawn, 450f);
+            worldManager.resetClock();
+        });
 
         // Unfreeze
         dead = false;
@@ -729,10 +753,8 @@ public class GameScreen implements Screen {
         // Restore input to gameplay/UI stage
         Gdx.input.setInputProcessor(uiStage);
 
-        // Save new state
-        if (saveManager != null) {
-            saveManager.savePlayer(player);
-        }
+        // Save new state (once applied)
+        saveTicket = respawnTicket;
     }
 
     @Override public void hide() {
@@ -746,10 +768,12 @@ public class GameScreen implements Screen {
         if (disposed) return;
         disposed = true;
 
+        // 0) stop stepping before anything it touches goes away
+        if (simulation != null) { simulation.dispose(); simulation = null; }
+
         // 1) destroy owners of bodies/fixtures BEFORE the world
         if (enemyManager != null) { enemyManager.dispose(); enemyManager = null; }
-        if (resourceManager != null) { resourceManager.dispose(); resourceManager = null; }
-        if (island != null) { island.dispose(); island = null; } // (does GL finish; see below)
+        if (island != null) { island.dispose(); island = null; } // islands + their resource nodes (does GL finish)
         if (player != null) { player.dispose(); player = null; }
 
         // 2) now the Box2D world
@@ -760,6 +784,7 @@ public class GameScreen implements Screen {
         if (inventoryOverlay != null) { inventoryOverlay.dispose(); inventoryOverlay = null; }
         if (deathOverlay != null) { deathOverlay.dispose(); deathOverlay = null; }
         if (shapeRenderer != null) { shapeRenderer.dispose(); shapeRenderer = null; }
+        if (renderQueue != null) { renderQueue.dispose(); renderQueue = null; }
 
         // stages last
         if (uiStage != null) { uiStage.dispose(); uiStage = null; }
@@ -2,9 +2,20 @@ package com.rgs.runesurvivor;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.rgs.runesurvivor.world.TerrainPlatform;
 
 public class RuneSurvivorGame extends Game {
     public SpriteBatch batch;
+    /** Set by the launcher; the web build keeps the serial default. */
+    public final TerrainPlatform terrainPlatform;
+
+    public RuneSurvivorGame() {
+        this(TerrainPlatform.SERIAL);
+    }
+
+    public RuneSurvivorGame(TerrainPlatform terrainPlatform) {
+        this.terrainPlatform = terrainPlatform;
+    }
 
     @Override
     public void create() {
@@ -0,0 +1,149 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.ai.steer.SteeringAcceleration;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.rgs.runesurvivor.world.EnemyStore;
+
+/**
+ * Time-sliced enemy thinking. Each on-screen, idle enemy re-runs its steering at most every
+ * {@code thinkInterval} seconds; a round-robin cursor walks the store and picks this frame's slice
+ * (up to the agent budget), picking up there next frame. Between thinks the movement pass keeps
+ * applying the enemy's last decision ({@link EnemyStore#steerX} ...), and the attack state machine
+ * is not sliced at all, so timers still advance every tick.
+ * <p>
+ * The slice is steered on the {@link WorkerPool}'s lanes, each with its own {@link EnemySteering}.
+ * Thinking only reads positions/velocities and writes the thinking slot's own decision fields, and the
+ * wander walk is seeded per (enemy, tick), so the result doesn't depend on the lane count or timing.
+ * The time budget can't interrupt a parallel slice; instead the slice shrinks after a frame that went
+ * over it and grows back while frames stay under.
+ */
+public class AiScheduler {
+
+    private static final int MIN_CHUNK = 32;    // thinks per lane worth a hand-off
+    private static final int MIN_SLICE = 16;
+
+    private final WorkerPool workers;
+    private final EnemySteering[] steering;     // one per lane
+    private final SteeringAcceleration<Vector2>[] out;
+    private final WorkerPool.RangeTask thinkTask = this::think;
+
+    private float thinkInterval = 0.1f;     // seconds between thinks per agent (10 Hz)
+    private int   maxThinksPerFrame = 400;  // agent budget
+    private long  maxNanosPerFrame = 2_000_000L; // time budget (adapts the slice size)
+    private int sliceLimit = maxThinksPerFrame;
+    private int cursor;
+
+    // this tick's slice, read by the lanes
+    private final IntArray slice = new IntArray();
+    private EnemyStore store;
+    private float delta;
+    private long tick;
+
+    // stats (last run)
+    private int thinks, deferred, lanesUsed;
+    private float maxStaleness, meanStaleness;
+    private long nanos;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})  // generic array creation
+    public AiScheduler(WorkerPool workers, EnemySteering[] steering) {
+        if (steering.length < workers.getLanes())
+            throw new IllegalArgumentException("need one EnemySteering per lane (" + workers.getLanes() + ")");
+        this.workers = workers;
+        this.steering = steering;
+        this.out = new SteeringAcceleration[steering.length];
+        for (int l = 0; l < out.length; l++) out[l] = new SteeringAcceleration<>(new Vector2());
+    }
+
+    /** Age every decision by {@code delta}, then think for as many due agents as the budget allows. */
+    public void run(EnemyStore s, float delta, FlowField flow, float targetX, float targetY) {
+        long t0 = System.nanoTime();
+        for (EnemySteering st : steering) st.begin(flow, targetX, targetY, delta);
+
+        int n = s.size;
+        int due = 0;
+        for (int i = 0; i < n; i++) {
+            if (!thinks(s, i)) continue;
+            if (s.thinkAge[i] != EnemyStore.NEVER_THOUGHT) s.thinkAge[i] += delta;
+            if (s.thinkAge[i] >= thinkInterval) due++;
+        }
+
+        // ---- 1) pick this frame's slice, round robin from the cursor ----
+        slice.clear();
+        int limit = Math.min(maxThinksPerFrame, sliceLimit);
+        if (cursor >= n) cursor = 0;
+        for (int visited = 0; visited < n && slice.size < due && slice.size < limit; visited++) {
+            int i = cursor;
+            cursor = cursor + 1 == n ? 0 : cursor + 1;
+            if (thinks(s, i) && s.thinkAge[i] >= thinkInterval) slice.add(i);
+        }
+        thinks = slice.size;
+        deferred = due - thinks;
+
+        // ---- 2) steer the slice across the lanes ----
+        this.store = s;
+        this.delta = delta;
+        tick++;
+        workers.parallelFor(slice.size, MIN_CHUNK, thinkTask);
+        lanesUsed = workers.getLastLanesUsed();
+        this.store = null;
+
+        // ---- 3) staleness of the decisions being applied this tick ----
+        float max = 0f, sum = 0f;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (!thinks(s, i) || s.thinkAge[i] == EnemyStore.NEVER_THOUGHT) continue;
+            max = Math.max(max, s.thinkAge[i]);
+            sum += s.thinkAge[i];
+            count++;
+        }
+        maxStaleness = max;
+        meanStaleness = count > 0 ? sum / count : 0f;
+        nanos = System.nanoTime() - t0;
+
+        // ---- 4) fit the next slice to the time budget ----
+        if (nanos > maxNanosPerFrame) sliceLimit = Math.max(MIN_SLICE, sliceLimit - sliceLimit / 4);
+        else if (thinks >= sliceLimit) sliceLimit = Math.min(maxThinksPerFrame, sliceLimit + Math.max(1, maxThinksPerFrame / 16));
+    }
+
+    // One lane's share of the slice
+    private void think(int lane, int from, int to) {
+        EnemyStore s = store;
+        EnemySteering st = steering[lane];
+        SteeringAcceleration<Vector2> acc = out[lane];
+        ChaseOrWander cw = st.getChaseOrWander();
+        int[] items = slice.items;
+        for (int k = from; k < to; k++) {
+            int i = items[k];
+            float age = s.thinkAge[i];
+            cw.setStep(age == EnemyStore.NEVER_THOUGHT ? delta : age);
+            cw.seed(((long)s.id[i] << 32) ^ tick);
+            st.steer(i, acc);
+            s.steerX[i] = acc.linear.x;
+            s.steerY[i] = acc.linear.y;
+            s.steerChase[i] = st.isChasing();
+            s.thinkAge[i] = 0f;
+        }
+    }
+
+    // Only on-screen, idle enemies steer (attacking ones hold still, off-screen ones are LOD-driven)
+    private static boolean thinks(EnemyStore s, int i) {
+        return s.tier[i] == EnemyStore.TIER_FULL && s.atkState[i] == EnemyStore.ATK_IDLE;
+    }
+
+    public int getThinkCount() { return thinks; }
+    /** Due agents left waiting for a later frame. */
+    public int getDeferredCount() { return deferred; }
+    /** Oldest / average age (seconds) of the decisions in use. */
+    public float getMaxStaleness() { return maxStaleness; }
+    public float getMeanStaleness() { return meanStaleness; }
+    public long getLastNanos() { return nanos; }
+    /** Current slice cap after time-budget adaptation (at most the agent budget). */
+    public int getSliceLimit() { return Math.min(sliceLimit, maxThinksPerFrame); }
+    /** Lanes the last slice was spread over. */
+    public int getLanesUsed() { return lanesUsed; }
+
+    public void setThinkInterval(float s) { thinkInterval = Math.max(0f, s); }
+    public void setMaxThinksPerFrame(int n) { maxThinksPerFrame = Math.max(1, n); sliceLimit = maxThinksPerFrame; }
+    public void setMaxNanosPerFrame(long n) { maxNanosPerFrame = Math.max(0L, n); }
+}
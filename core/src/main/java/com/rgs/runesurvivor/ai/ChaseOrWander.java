@@ -0,0 +1,92 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.ai.steer.SteeringAcceleration;
+import com.badlogic.gdx.ai.steer.SteeringBehavior;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.rgs.runesurvivor.world.EnemyStore;
+
+/**
+ * Chase along the shared {@link FlowField} when the target is in range and reachable, otherwise
+ * wander (a target on a circle ahead of the agent, drifting by a random walk). Owner must be an
+ * {@link EnemyAgent}; the wander angle lives in the store. The random walk draws from this instance's
+ * own generator ({@link #seed}), so separate instances can run on separate threads reproducibly.
+ */
+public class ChaseOrWander extends SteeringBehavior<Vector2> {
+
+    private FlowField flow;
+    private final Vector2 target = new Vector2();
+    private float delta;
+    private boolean chasing;
+
+    // Chase
+    private float chaseRange = 900f;
+    private float chaseSpeed = 60f;
+    private float chaseResponse = 0.25f;   // seconds to reach the desired velocity
+
+    // Wander
+    private float wanderAccel = 120f;
+    private float wanderRadius = 20f;
+    private float wanderRate = 3.0f;
+    private float wanderOffset = 10f;
+
+    private final Vector2 flowTmp = new Vector2();
+    private final RandomXS128 random = new RandomXS128();
+
+    public ChaseOrWander() {
+        super(null);
+    }
+
+    /** Per tick: the field, its target and the step length (for the wander random walk). */
+    public void set(FlowField flow, float targetX, float targetY, float delta) {
+        this.flow = flow;
+        this.target.set(targetX, targetY);
+        this.delta = delta;
+    }
+
+    /** Time the wander random walk covers on the next calculation (time since the agent last thought). */
+    public void setStep(float delta) { this.delta = delta; }
+
+    /** Reseed the wander random walk (per agent and think, so results don't depend on who ran first). */
+    public void seed(long seed) { random.setSeed(seed); }
+
+    /** Whether the last calculation chased (callers cap speed at the chase speed then). */
+    public boolean isChasing() { return chasing; }
+
+    @Override
+    protected SteeringAcceleration<Vector2> calculateRealSteering(SteeringAcceleration<Vector2> out) {
+        EnemyAgent agent = (EnemyAgent)owner;
+        EnemyStore s = agent.getStore();
+        int i = agent.index;
+        float ex = s.x[i], ey = s.y[i];
+        out.angular = 0f;
+
+        chasing = flow != null && target.dst2(ex, ey) < chaseRange * chaseRange && flow.sample(ex, ey, flowTmp);
+        if (chasing) {
+            // accelerate toward the flow direction at chase speed
+            out.linear.set((flowTmp.x * chaseSpeed - s.vx[i]) / chaseResponse,
+                           (flowTmp.y * chaseSpeed - s.vy[i]) / chaseResponse);
+            return out;
+        }
+
+        float face = s.facing[i];
+        s.wanderOrient[i] += (random.nextFloat() - random.nextFloat()) * wanderRate * delta;
+        float ta = s.wanderOrient[i] + face;
+        out.linear.set(MathUtils.cos(face) * wanderOffset + MathUtils.cos(ta) * wanderRadius,
+                       MathUtils.sin(face) * wanderOffset + MathUtils.sin(ta) * wanderRadius);
+        if (!out.linear.isZero()) out.linear.nor().scl(wanderAccel);
+        return out;
+    }
+
+    public float getChaseRange() { return chaseRange; }
+    public float getChaseSpeed() { return chaseSpeed; }
+    public ChaseOrWander setChase(float range, float speed, float response) {
+        chaseRange = range; chaseSpeed = speed; chaseResponse = response;
+        return this;
+    }
+    public ChaseOrWander setWander(float accel, float radius, float rate, float offset) {
+        wanderAccel = accel; wanderRadius = radius; wanderRate = rate; wanderOffset = offset;
+        return this;
+    }
+}
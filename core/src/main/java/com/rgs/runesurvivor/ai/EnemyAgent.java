@@ -0,0 +1,66 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.ai.steer.Steerable;
+import com.badlogic.gdx.ai.utils.Location;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.rgs.runesurvivor.world.EnemyStore;
+
+/**
+ * gdx-ai view of one {@link EnemyStore} slot. Agents are bound to a slot index, not to an enemy, so
+ * there's one per slot ever used (none per spawn); reads go straight to the store's arrays.
+ */
+public class EnemyAgent implements Steerable<Vector2> {
+    private final EnemyStore store;
+    final int index;
+
+    private final Vector2 position = new Vector2();
+    private final Vector2 velocity = new Vector2();
+    private float boundingRadius;
+    private boolean tagged;
+
+    // Limiter
+    private float zeroLinearSpeedThreshold = 0.001f;
+    private float maxLinearSpeed = 60f;
+    private float maxLinearAcceleration = 480f;
+    private float maxAngularSpeed = 10f;
+    private float maxAngularAcceleration = 30f;
+
+    public EnemyAgent(EnemyStore store, int index, float boundingRadius) {
+        this.store = store;
+        this.index = index;
+        this.boundingRadius = boundingRadius;
+    }
+
+    public int getIndex() { return index; }
+    public EnemyStore getStore() { return store; }
+
+    // --- Steerable ---
+    @Override public Vector2 getPosition() { return position.set(store.x[index], store.y[index]); }
+    @Override public Vector2 getLinearVelocity() { return velocity.set(store.vx[index], store.vy[index]); }
+    @Override public float getAngularVelocity() { return 0f; }
+    @Override public float getBoundingRadius() { return boundingRadius; }
+    @Override public boolean isTagged() { return tagged; }
+    @Override public void setTagged(boolean tagged) { this.tagged = tagged; }
+    @Override public float getOrientation() { return store.facing[index]; }
+    @Override public void setOrientation(float orientation) { store.facing[index] = orientation; }
+    @Override public float vectorToAngle(Vector2 vector) { return MathUtils.atan2(vector.y, vector.x); }
+    @Override public Vector2 angleToVector(Vector2 outVector, float angle) {
+        outVector.x = MathUtils.cos(angle);
+        outVector.y = MathUtils.sin(angle);
+        return outVector;
+    }
+    @Override public Location<Vector2> newLocation() { return new Box2dSteeringEntity.Box2dLocation(); }
+
+    // --- Limiter ---
+    @Override public float getMaxLinearSpeed() { return maxLinearSpeed; }
+    @Override public void setMaxLinearSpeed(float maxLinearSpeed) { this.maxLinearSpeed = maxLinearSpeed; }
+    @Override public float getMaxLinearAcceleration() { return maxLinearAcceleration; }
+    @Override public void setMaxLinearAcceleration(float maxLinearAcceleration) { this.maxLinearAcceleration = maxLinearAcceleration; }
+    @Override public float getMaxAngularSpeed() { return maxAngularSpeed; }
+    @Override public void setMaxAngularSpeed(float maxAngularSpeed) { this.maxAngularSpeed = maxAngularSpeed; }
+    @Override public float getMaxAngularAcceleration() { return maxAngularAcceleration; }
+    @Override public void setMaxAngularAcceleration(float maxAngularAcceleration) { this.maxAngularAcceleration = maxAngularAcceleration; }
+    @Override public float getZeroLinearSpeedThreshold() { return zeroLinearSpeedThreshold; }
+    @Override public void setZeroLinearSpeedThreshold(float value) { this.zeroLinearSpeedThreshold = value; }
+}
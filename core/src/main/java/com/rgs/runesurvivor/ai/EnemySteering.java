@@ -0,0 +1,82 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.ai.steer.SteeringAcceleration;
+import com.badlogic.gdx.ai.steer.behaviors.Alignment;
+import com.badlogic.gdx.ai.steer.behaviors.BlendedSteering;
+import com.badlogic.gdx.ai.steer.behaviors.Cohesion;
+import com.badlogic.gdx.ai.steer.behaviors.Separation;
+import com.badlogic.gdx.math.Vector2;
+import com.rgs.runesurvivor.world.EnemyGrid;
+import com.rgs.runesurvivor.world.EnemyStore;
+
+/**
+ * Crowd steering for every enemy: chase/wander blended with separation, cohesion and alignment
+ * ({@link BlendedSteering}), neighbours from a {@link GridProximity}.
+ * One set of behaviours serves all agents: {@link #steer} points them at a slot's agent and runs.
+ */
+public class EnemySteering {
+
+    private final EnemyStore store;
+    private final GridProximity proximity;
+    private EnemyAgent[] agents = new EnemyAgent[16];
+    private final float agentRadius;
+
+    private final ChaseOrWander chaseOrWander = new ChaseOrWander();
+    private final Separation<Vector2> separation;
+    private final Cohesion<Vector2> cohesion;
+    private final Alignment<Vector2> alignment;
+    private final BlendedSteering<Vector2> blended;
+
+    public EnemySteering(EnemyStore store, EnemyGrid grid, float agentRadius) {
+        this.store = store;
+        this.agentRadius = agentRadius;
+        // neighbours within ~3 bodies, at most 8 of them
+        this.proximity = new GridProximity(grid, store, agentRadius * 6f, 8);
+        for (int i = 0; i < agents.length; i++) agents[i] = new EnemyAgent(store, i, agentRadius);
+
+        // behaviours need some owner to build their scratch vectors; steer() repoints them per agent
+        EnemyAgent first = agents[0];
+        chaseOrWander.setOwner(first);
+        separation = new Separation<>(first, proximity);
+        // inverse-square push that hits max acceleration at about one body width apart
+        separation.setDecayCoefficient(480f * (agentRadius * 2f) * (agentRadius * 2f));
+        cohesion = new Cohesion<>(first, proximity);
+        alignment = new Alignment<>(first, proximity);
+
+        blended = new BlendedSteering<>(first);
+        blended.add(chaseOrWander, 1.0f)
+               .add(separation, 1.5f)
+               .add(cohesion, 0.1f)
+               .add(alignment, 0.3f);
+    }
+
+    /** Once per tick, after the grid rebuild. */
+    public void begin(FlowField flow, float targetX, float targetY, float delta) {
+        if (agents.length < store.size) {
+            int old = agents.length;
+            agents = java.util.Arrays.copyOf(agents, Math.max(store.size, old * 2));
+            for (int i = old; i < agents.length; i++) agents[i] = new EnemyAgent(store, i, agentRadius);
+        }
+        chaseOrWander.set(flow, targetX, targetY, delta);
+        proximity.beginTick(agents);
+    }
+
+    /** Blended linear acceleration for slot {@code i} into {@code out}. */
+    public SteeringAcceleration<Vector2> steer(int i, SteeringAcceleration<Vector2> out) {
+        EnemyAgent a = agents[i];
+        proximity.setOwner(a);
+        chaseOrWander.setOwner(a);
+        separation.setOwner(a);
+        cohesion.setOwner(a);
+        alignment.setOwner(a);
+        blended.setOwner(a);
+        return blended.calculateSteering(out);
+    }
+
+    /** Did the last {@link #steer} chase (vs wander)? */
+    public boolean isChasing() { return chaseOrWander.isChasing(); }
+
+    public ChaseOrWander getChaseOrWander() { return chaseOrWander; }
+    public GridProximity getProximity() { return proximity; }
+    public BlendedSteering<Vector2> getBlended() { return blended; }
+}
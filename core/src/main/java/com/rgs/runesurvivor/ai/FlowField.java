@@ -0,0 +1,222 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.rgs.runesurvivor.world.IslandRenderer;
+import com.rgs.runesurvivor.world.WorldTerrain;
+
+import java.util.Arrays;
+
+/**
+ * Flow field toward one target (the player) over a square window of terrain cells, shared by every enemy.
+ * The integration pass (Dijkstra with Dial's buckets: straight step 2, diagonal 3, no corner cutting
+ * past water) only reruns when the target changes cell. The terrain window only scrolls when the target
+ * drifts away from its center, and then only the strips that scrolled in are re-read.
+ * Sampling a direction is one array lookup, so the cost per tick doesn't depend on the enemy count.
+ */
+public class FlowField {
+
+    // 8 directions, CCW from east
+    private static final int[] DX = { 1, 1, 0, -1, -1, -1, 0, 1 };
+    private static final int[] DY = { 0, 1, 1, 1, 0, -1, -1, -1 };
+    private static final float[] UX = new float[8], UY = new float[8];
+    static {
+        for (int d = 0; d < 8; d++) {
+            float len = (float)Math.sqrt(DX[d] * DX[d] + DY[d] * DY[d]);
+            UX[d] = DX[d] / len;
+            UY[d] = DY[d] / len;
+        }
+    }
+
+    private static final int STRAIGHT = 2, DIAGONAL = 3; // ~1 : 1.41
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final WorldTerrain terrain;
+    private final int size;            // window side (cells)
+    private final float cell;
+    private final int recenterSlack;   // cells the target may drift from the window center before it scrolls
+
+    // Window (bottom-left cell on the world lattice) and its terrain
+    private int gx0, gy0;
+    private boolean hasWindow;
+    private byte[] codes, scratch;
+    private final byte[] strip;
+
+    // Integration output
+    private final int[] cost;
+    private final byte[] dir;          // direction index toward the target, -1 = none
+    private int targetGX = Integer.MIN_VALUE, targetGY = Integer.MIN_VALUE;
+    private final Vector2 target = new Vector2();
+    private boolean dirty = true;
+    private int terrainVersion;
+
+    // Dial's buckets (edge costs < 4, so 4 rotating buckets are enough)
+    private final IntArray[] buckets = new IntArray[4];
+
+    // stats
+    private int integrations, cellsRead;
+
+    /** @param size window side in cells (the field covers size x size cells around the target) */
+    public FlowField(WorldTerrain terrain, int size) {
+        this.terrain = terrain;
+        this.size = size;
+        this.cell = terrain.getCellSize();
+        this.recenterSlack = size / 6;
+
+        int n = size * size;
+        codes   = new byte[n];
+        scratch = new byte[n];
+        strip   = new byte[n];
+        cost    = new int[n];
+        dir     = new byte[n];
+        for (int i = 0; i < 4; i++) buckets[i] = new IntArray(false, size * 4);
+    }
+
+    /** Move the target; scrolls the window and reruns the integration only when needed. */
+    public void update(float tx, float ty) {
+        target.set(tx, ty);
+        if (terrain.getTerrainVersion() != terrainVersion) {
+            terrainVersion = terrain.getTerrainVersion();
+            invalidate();
+        }
+        int gx = MathUtils.floor(tx / cell), gy = MathUtils.floor(ty / cell);
+
+        int half = size / 2;
+        if (!hasWindow || Math.abs(gx - (gx0 + half)) > recenterSlack || Math.abs(gy - (gy0 + half)) > recenterSlack) {
+            scrollTo(gx - half, gy - half);
+        }
+        if (dirty || gx != targetGX || gy != targetGY) {
+            targetGX = gx;
+            targetGY = gy;
+            integrate(gx - gx0, gy - gy0);
+            dirty = false;
+        }
+    }
+
+    /** Re-read the whole window on the next update (terrain under it changed, e.g. an island paged in). */
+    public void invalidate() {
+        hasWindow = false;
+        dirty = true;
+    }
+
+    /**
+     * Direction to follow from (wx,wy) into {@code out} (unit length, or zero on the target itself).
+     * False if the point is outside the window or can't reach the target.
+     */
+    public boolean sample(float wx, float wy, Vector2 out) {
+        int x = MathUtils.floor(wx / cell) - gx0, y = MathUtils.floor(wy / cell) - gy0;
+        if (x < 0 || y < 0 || x >= size || y >= size) return false;
+        int i = y * size + x;
+        if (cost[i] == UNREACHABLE) return false;
+
+        int d = dir[i];
+        if (d < 0) {
+            // target cell: head straight for the target point
+            out.set(target.x - wx, target.y - wy);
+            if (!out.isZero()) out.nor();
+            return true;
+        }
+        out.set(UX[d], UY[d]);
+        return true;
+    }
+
+    /** Path cost to the target (straight step = 2), or -1 if outside / unreachable. */
+    public int getCost(float wx, float wy) {
+        int x = MathUtils.floor(wx / cell) - gx0, y = MathUtils.floor(wy / cell) - gy0;
+        if (x < 0 || y < 0 || x >= size || y >= size) return -1;
+        int c = cost[y * size + x];
+        return c == UNREACHABLE ? -1 : c;
+    }
+
+    public int getIntegrationCount() { return integrations; }
+    public int getCellsRead() { return cellsRead; }
+
+    // ---------- Terrain window ----------
+
+    private void scrollTo(int nx0, int ny0) {
+        int dx = nx0 - gx0, dy = ny0 - gy0;
+        gx0 = nx0;
+        gy0 = ny0;
+        dirty = true;
+
+        if (!hasWindow || Math.abs(dx) >= size || Math.abs(dy) >= size) {
+            terrain.getCodesInRect(gx0 * cell, gy0 * cell, size, size, codes);
+            cellsRead += size * size;
+            hasWindow = true;
+            return;
+        }
+
+        // ---- 1) keep the overlap ----
+        int x0 = Math.max(0, -dx), x1 = Math.min(size, size - dx);
+        for (int y = 0; y < size; y++) {
+            int sy = y + dy;
+            if (sy < 0 || sy >= size) continue;
+            System.arraycopy(codes, sy * size + x0 + dx, scratch, y * size + x0, x1 - x0);
+        }
+        byte[] t = codes; codes = scratch; scratch = t;
+
+        // ---- 2) rows that scrolled in (full width) ----
+        if (dy > 0)      readBlock(0, size - dy, size, dy);
+        else if (dy < 0) readBlock(0, 0, size, -dy);
+
+        // ---- 3) columns that scrolled in (rows not read above) ----
+        int ry0 = dy < 0 ? -dy : 0, ry1 = dy > 0 ? size - dy : size;
+        if (dx > 0)      readBlock(size - dx, ry0, dx, ry1 - ry0);
+        else if (dx < 0) readBlock(0, ry0, -dx, ry1 - ry0);
+    }
+
+    // Window-local block (x,y,w,h) from the terrain
+    private void readBlock(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+        terrain.getCodesInRect((gx0 + x) * cell, (gy0 + y) * cell, w, h, strip);
+        for (int r = 0; r < h; r++) System.arraycopy(strip, r * w, codes, (y + r) * size + x, w);
+        cellsRead += w * h;
+    }
+
+    private boolean passable(int x, int y) {
+        return !IslandRenderer.isWater(codes[y * size + x]);
+    }
+
+    // ---------- Integration ----------
+
+    private void integrate(int tx, int ty) {
+        Arrays.fill(cost, UNREACHABLE);
+        Arrays.fill(dir, (byte)-1);
+        integrations++;
+        if (tx < 0 || ty < 0 || tx >= size || ty >= size) return;
+
+        // the target cell is always a source, even if it reads as water (standing on the shore)
+        int start = ty * size + tx;
+        cost[start] = 0;
+        buckets[0].add(start);
+        int pending = 1;
+
+        for (int cur = 0; pending > 0; cur++) {
+            IntArray bucket = buckets[cur & 3];
+            for (int b = 0; b < bucket.size; b++) {
+                int i = bucket.items[b];
+                pending--;
+                if (cost[i] != cur) continue; // stale entry (improved after it was queued)
+
+                int x = i % size, y = i / size;
+                for (int d = 0; d < 8; d++) {
+                    int nx = x + DX[d], ny = y + DY[d];
+                    if (nx < 0 || ny < 0 || nx >= size || ny >= size || !passable(nx, ny)) continue;
+                    boolean diagonal = (d & 1) != 0;
+                    // no cutting corners past water
+                    if (diagonal && (!passable(x + DX[d], y) || !passable(x, y + DY[d]))) continue;
+
+                    int j = ny * size + nx;
+                    int nc = cur + (diagonal ? DIAGONAL : STRAIGHT);
+                    if (nc >= cost[j]) continue;
+                    cost[j] = nc;
+                    dir[j] = (byte)((d + 4) & 7); // back toward i
+                    buckets[nc & 3].add(j);
+                    pending++;
+                }
+            }
+            bucket.clear();
+        }
+    }
+}
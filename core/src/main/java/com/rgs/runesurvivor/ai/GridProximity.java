@@ -0,0 +1,76 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.ai.steer.Proximity;
+import com.badlogic.gdx.ai.steer.Steerable;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.rgs.runesurvivor.world.EnemyGrid;
+import com.rgs.runesurvivor.world.EnemyStore;
+
+/**
+ * Neighbours from the per-tick {@link EnemyGrid} instead of RadiusProximity's scan over every agent:
+ * a few grid cells per query, capped at {@code maxNeighbors}, so a crowd costs O(n*k).
+ * The query for an owner is cached until the owner or the tick changes, so the group behaviours
+ * blended for one agent (separation, cohesion, alignment) share one grid lookup.
+ */
+public class GridProximity implements Proximity<Vector2> {
+
+    private final EnemyGrid grid;
+    private final EnemyStore store;
+    private EnemyAgent[] agents;
+    private EnemyAgent owner;
+
+    private float radius;
+    private int maxNeighbors;
+
+    private final IntArray found = new IntArray();
+    private int cachedIndex = -1;
+
+    // stats
+    private int queries, reported;
+
+    public GridProximity(EnemyGrid grid, EnemyStore store, float radius, int maxNeighbors) {
+        this.grid = grid;
+        this.store = store;
+        this.radius = radius;
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    /** Slot agents (grows with the store) and a new tick: forget cached neighbours. */
+    public void beginTick(EnemyAgent[] agents) {
+        this.agents = agents;
+        cachedIndex = -1;
+        queries = reported = 0;
+    }
+
+    @Override public Steerable<Vector2> getOwner() { return owner; }
+
+    @Override
+    public void setOwner(Steerable<Vector2> owner) {
+        this.owner = (EnemyAgent)owner;
+    }
+
+    @Override
+    public int findNeighbors(ProximityCallback<Vector2> callback) {
+        int self = owner.index;
+        if (self != cachedIndex) {
+            grid.queryRadius(store, store.x[self], store.y[self], radius, found);
+            cachedIndex = self;
+            queries++;
+        }
+        int count = 0;
+        for (int k = 0; k < found.size && count < maxNeighbors; k++) {
+            int j = found.items[k];
+            if (j == self || store.tier[j] != EnemyStore.TIER_FULL) continue;
+            if (callback.reportNeighbor(agents[j])) count++;
+        }
+        reported += count;
+        return count;
+    }
+
+    public void setRadius(float r) { radius = r; cachedIndex = -1; }
+    public void setMaxNeighbors(int n) { maxNeighbors = Math.max(1, n); }
+
+    public int getQueryCount() { return queries; }
+    public int getReportedCount() { return reported; }
+}
@@ -0,0 +1,80 @@
+package com.rgs.runesurvivor.ai;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * Fixed set of lanes for data-parallel passes: {@link #parallelFor} cuts [0,n) into contiguous
+ * ranges, one per lane; lane 0 runs on the calling thread, the others on an {@link AsyncExecutor}.
+ * Each lane index owns its own scratch (steering behaviours, event buffers), so tasks never share
+ * mutable state, and results merged in lane order come out in index order whatever the timing.
+ */
+public class WorkerPool implements Disposable {
+
+    /** Work on indices [from, to) using lane {@code lane}'s scratch. */
+    public interface RangeTask { void run(int lane, int from, int to); }
+
+    private final int lanes;
+    private final AsyncExecutor executor;      // lanes - 1 threads (null when single-lane)
+    private final Lane[] laneTasks;
+    private final AsyncResult<?>[] pending;
+    private int lastLanesUsed;
+
+    private static final class Lane implements AsyncTask<Void> {
+        final int lane;
+        RangeTask task;
+        int from, to;
+        Lane(int lane) { this.lane = lane; }
+        @Override public Void call() { task.run(lane, from, to); return null; }
+    }
+
+    /** @param lanes parallel lanes (including the caller); clamped to at least 1 */
+    public WorkerPool(int lanes, String name) {
+        this.lanes = Math.max(1, lanes);
+        this.executor = this.lanes > 1 ? new AsyncExecutor(this.lanes - 1, name) : null;
+        this.laneTasks = new Lane[this.lanes];
+        for (int i = 0; i < this.lanes; i++) laneTasks[i] = new Lane(i);
+        this.pending = new AsyncResult<?>[this.lanes];
+    }
+
+    /** One lane per core (the render thread is one of them), at most {@code cap}. */
+    public static int defaultLanes(int cap) {
+        return Math.max(1, Math.min(cap, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public int getLanes() { return lanes; }
+    public int getLastLanesUsed() { return lastLanesUsed; }
+
+    /**
+     * Run {@code task} over [0,n) split across the lanes (each range at least {@code minChunk} long,
+     * so small jobs stay on the caller). Blocks until every range is done.
+     */
+    public void parallelFor(int n, int minChunk, RangeTask task) {
+        if (n <= 0) { lastLanesUsed = 0; return; }
+        int used = Math.max(1, Math.min(lanes, n / Math.max(1, minChunk)));
+        lastLanesUsed = used;
+        if (used == 1) { task.run(0, 0, n); return; }
+
+        int per = (n + used - 1) / used;
+        for (int l = 1; l < used; l++) {
+            Lane t = laneTasks[l];
+            t.task = task;
+            t.from = Math.min(n, l * per);
+            t.to = Math.min(n, (l + 1) * per);
+            pending[l] = executor.submit(t);
+        }
+        task.run(0, 0, Math.min(n, per));
+        for (int l = 1; l < used; l++) {
+            pending[l].get();          // rethrows a worker's exception here
+            pending[l] = null;
+            laneTasks[l].task = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (executor != null) executor.dispose();
+    }
+}
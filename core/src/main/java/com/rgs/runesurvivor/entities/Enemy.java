@@ -1,181 +1,264 @@
 package com.rgs.runesurvivor.entities;
 
-import com.badlogic.gdx.ai.steer.SteeringAcceleration;
-import com.badlogic.gdx.ai.steer.behaviors.Wander;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.*;
-import com.rgs.runesurvivor.ai.Box2dSteeringEntity;
-import com.rgs.runesurvivor.world.WorldManager;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.IntArray;
+import com.rgs.runesurvivor.ai.AiScheduler;
+import com.rgs.runesurvivor.ai.EnemySteering;
+import com.rgs.runesurvivor.ai.WorkerPool;
+import com.rgs.runesurvivor.world.CollisionLayers;
+import com.rgs.runesurvivor.world.EnemyGrid;
+import com.rgs.runesurvivor.world.EnemyStore;
+import com.rgs.runesurvivor.world.HitMarkerSink;
 import com.rgs.runesurvivor.world.HitMarkerSystem;
-import com.rgs.runesurvivor.entities.Player;
-
-public class Enemy {
+import com.rgs.runesurvivor.world.PhysicsScale;
+import com.rgs.runesurvivor.world.RenderQueue;
+import com.rgs.runesurvivor.world.RenderSnapshot;
+
+/**
+ * Enemy behaviour as passes over an {@link EnemyStore}: movement (crowd steering around the flow field),
+ * the attack state machine, drawing. AI is split into a decide phase that runs on worker lanes over the
+ * arrays and an apply phase on the main thread that alone touches Box2D and the player.
+ * Every enemy shares the tunables below and one sprite texture; per-enemy state lives only in the
+ * store's arrays.
+ */
+public final class Enemy {
     private static Texture sharedTexture;
+    private static Sprite drawSprite;          // positioned per enemy, copied by the queue
 
-    private final Sprite sprite;
-    private final Body body;
-    private final Box2dSteeringEntity steerable;
-    private final Wander<Vector2> wander;
-    private final SteeringAcceleration<Vector2> steeringOut = new SteeringAcceleration<>(new Vector2());
-
-    // Health
-    private float maxHp = 50f;
-    private float hp = 50f;
-    private boolean dead = false;
-
-    private enum AttackState { IDLE, WINDUP, STRIKE, COOLDOWN }
-    private AttackState atkState = AttackState.IDLE;
-    private float atkTimer = 0f;
+    public static final float SIZE = 50f;
+    public static final float MAX_HP = 50f;
 
     // Tunables
-    private float atkDamage = 5f;
-    private float atkWindup = 0.25f;     // telegraph time
-    private float atkStrike = 0.08f;     // hit window
-    private float atkCooldown = 2f;   // recovery
-    private float atkRange = 60f;        // from enemy center
-    private float atkArcDeg = 80f;       // swing width
-    private float knockback = 120f;      // impulse to player on hit
-
-    // Cached facing/aim during an attack
-    private float atkAimDeg = 0f;
-    private boolean didHitThisAttack = false;
-
-    public Enemy(WorldManager world, float x, float y) {
-        if (sharedTexture == null) sharedTexture = new Texture("enemy1.png");
-        sprite = new Sprite(sharedTexture);
-        float size = 50f;
-        sprite.setSize(size, size);
-
+    private static final float ATK_DAMAGE = 5f;
+    private static final float ATK_WINDUP = 0.25f;     // telegraph time
+    private static final float ATK_STRIKE = 0.08f;     // hit window
+    public static final float ATK_COOLDOWN_TIME = 2f;  // recovery (also runs down off screen)
+    private static final float ATK_RANGE = 60f;        // from enemy center
+    private static final float ATK_ARC_DEG = 80f;      // swing width
+    private static final float KNOCKBACK = 120f;       // impulse to player on hit
+
+    // Wander
+    public static final float MAX_SPEED = 24f;
+    private static final float MAX_ACCEL = 120f;
+    private static final float WANDER_RADIUS = 20f;
+    private static final float WANDER_RATE = 3.0f;
+    private static final float WANDER_OFFSET = 10f;
+
+    // Chasing (follows the shared flow field around water; wanders otherwise)
+    public static final float CHASE_RANGE = 900f;      // starts chasing inside this distance
+    public static final float CHASE_SPEED = 60f;
+    private static final float CHASE_RESPONSE = 0.25f; // seconds to reach the desired velocity
+
+    public static final float DAMPING = 0.5f;
+    public static final float ATTACK_DAMPING = 2.0f;
+
+    private static final Vector2 knockTmp = new Vector2();
+
+    private Enemy() {}
+
+    /** Dynamic circle for one enemy at (x,y) in px (the pool parks and reuses these). */
+    public static Body createBody(World world, float x, float y) {
         BodyDef bd = new BodyDef();
         bd.type = BodyDef.BodyType.DynamicBody;
-        bd.position.set(x, y);
-        body = world.getWorld().createBody(bd);
+        bd.position.set(PhysicsScale.toMeters(x), PhysicsScale.toMeters(y));
+        Body body = world.createBody(bd);
 
         CircleShape shape = new CircleShape();
-        shape.setRadius(size / 2f);
+        shape.setRadius(PhysicsScale.toMeters(SIZE / 2f));
 
         FixtureDef fd = new FixtureDef();
         fd.shape = shape;
         fd.density = 1.0f;
         fd.friction = 0.6f;
         fd.restitution = 0.1f;
+        CollisionLayers.apply(fd.filter, CollisionLayers.ENEMY);
         body.createFixture(fd);
         shape.dispose();
 
-        body.setLinearDamping(0.5f);
+        body.setLinearDamping(DAMPING);
         body.setAngularDamping(2f);
+        return body;
+    }
 
-        steerable = new Box2dSteeringEntity(body, size / 2f, false);
-        steerable.setMaxLinearSpeed(24f);
-        steerable.setMaxLinearAcceleration(120f);
-
-        wander = new Wander<>(steerable)
-            .setFaceEnabled(false)
-            .setWanderRadius(20f)
-            .setWanderRate(3.0f)
-            .setWanderOffset(10f);
+    /** Crowd steering set up with these tunables. */
+    public static EnemySteering createSteering(EnemyStore store, EnemyGrid grid) {
+        EnemySteering steering = new EnemySteering(store, grid, SIZE / 2f);
+        steering.getChaseOrWander()
+            .setChase(CHASE_RANGE, CHASE_SPEED, CHASE_RESPONSE)
+            .setWander(MAX_ACCEL, WANDER_RADIUS, WANDER_RATE, WANDER_OFFSET);
+        return steering;
     }
 
-    public void update(float delta, Player player, HitMarkerSystem hits) {
-        // If attacking, don't add wander forces
-        if (atkState == AttackState.IDLE) {
-            wander.calculateSteering(steeringOut);
-            if (!steeringOut.linear.isZero()) {
-                Vector2 force = new Vector2(steeringOut.linear).scl(body.getMass());
-                body.applyForceToCenter(force, true);
+    // ===== Movement =====
+    /**
+     * Apply pass for the crowd steering decided by the {@link AiScheduler} (which re-thinks a budgeted
+     * slice of enemies; everyone applies their latest decision): forces, speed cap and facing on the bodies.
+     * The arrays are in px; the bodies in meters.
+     */
+    public static void applyMotion(EnemyStore s) {
+        for (int i = 0; i < s.size; i++) {
+            if (s.tier[i] != EnemyStore.TIER_FULL) continue;
+            Body body = s.body[i];
+            if (s.atkState[i] != EnemyStore.ATK_IDLE) {
+                // Slight damping while attacking so they don't slide much
+                body.setLinearDamping(ATTACK_DAMPING);
+                continue;
+            }
+
+            float max = s.steerChase[i] ? CHASE_SPEED : MAX_SPEED;
+            float fx = s.steerX[i], fy = s.steerY[i];
+            if (fx != 0f || fy != 0f) {
+                float m = body.getMass() * PhysicsScale.MPP;
+                body.applyForceToCenter(fx * m, fy * m, true);
+            }
+
+            float vx = s.vx[i], vy = s.vy[i];
+            float v2 = vx * vx + vy * vy;
+            if (v2 > max * max) {
+                float k = max / (float)Math.sqrt(v2) * PhysicsScale.MPP;
+                body.setLinearVelocity(vx * k, vy * k);
             }
-            float max = steerable.getMaxLinearSpeed();
-            Vector2 vel = body.getLinearVelocity();
-            if (vel.len2() > max * max) {
-                vel.nor().scl(max);
-                body.setLinearVelocity(vel);
+            // face the velocity
+            if (v2 > 0.001f * 0.001f) {
+                float a = MathUtils.atan2(vy, vx);
+                body.setAngularVelocity(0f);
+                body.setTransform(body.getPosition(), a);
+                s.facing[i] = a;
             }
-            if (!steerable.isIndependentFacing()) steerable.faceToVelocity();
-        } else {
-            // Slight damping while attacking so they don't slide much
-            body.setLinearDamping(2.0f);
+        }
+    }
+
+    // ===== Attack state machine =====
+    /**
+     * Attack transitions for one lane's slots, decided off the main thread: reads the arrays and the
+     * player position snapshot, writes only each slot's own attack fields, and queues what has to touch
+     * Box2D or the player for {@link #applyAttacks}.
+     */
+    public static final class AttackPass implements WorkerPool.RangeTask {
+        private final IntArray[] landed;   // per lane: slots whose strike hit the player
+        private final IntArray[] calmed;   // per lane: slots back to idle (restore damping)
+        private EnemyStore s;
+        private float delta, px, py, reach;
+
+        public AttackPass(int lanes) {
+            landed = new IntArray[lanes];
+            calmed = new IntArray[lanes];
+            for (int l = 0; l < lanes; l++) { landed[l] = new IntArray(); calmed[l] = new IntArray(); }
         }
 
-        // Attack state machine
-        updateAttack(delta, player, hits);
+        @Override
+        public void run(int lane, int from, int to) {
+            IntArray hit = landed[lane], calm = calmed[lane];
+            hit.clear();
+            calm.clear();
+            for (int i = from; i < to; i++) {
+                if (s.tier[i] != EnemyStore.TIER_FULL) continue;
+                decideAttack(s, i, delta, px, py, reach, hit, calm);
+            }
+        }
+    }
 
-        // Sync sprite
-        sprite.setPosition(body.getPosition().x - sprite.getWidth()/2f,
-            body.getPosition().y - sprite.getHeight()/2f);
+    /** Decide phase: advance every on-screen enemy's attack state across the worker lanes. */
+    public static void decideAttacks(EnemyStore s, float delta, Player player, WorkerPool workers, AttackPass pass) {
+        Vector2 pp = player.getPosition();
+        pass.s = s;
+        pass.delta = delta;
+        pass.px = pp.x;
+        pass.py = pp.y;
+        pass.reach = ATK_RANGE + player.getWidth() * 0.25f;
+        for (int l = 0; l < pass.landed.length; l++) { pass.landed[l].clear(); pass.calmed[l].clear(); }
+        workers.parallelFor(s.size, 64, pass);
+        pass.s = null;
     }
 
-    // ===== Attack state machine =====
-    private void updateAttack(float delta, Player player, HitMarkerSystem hits) {
-        Vector2 ep = body.getPosition();
-        Vector2 pp = player.getBody().getPosition();
+    /** Apply phase (main thread): lanes hold contiguous slot ranges, so lane order is slot order. */
+    public static void applyAttacks(EnemyStore s, Player player, HitMarkerSink hits, AttackPass pass) {
+        for (int l = 0; l < pass.calmed.length; l++) {
+            IntArray calm = pass.calmed[l];
+            for (int k = 0; k < calm.size; k++) {
+                Body b = s.body[calm.items[k]];
+                if (b != null) b.setLinearDamping(DAMPING); // (the crowd solver picks damping per step)
+            }
+        }
+
+        Body pb = player.getBody();
+        Vector2 pp = player.getPosition();
+        for (int l = 0; l < pass.landed.length; l++) {
+            IntArray hit = pass.landed[l];
+            for (int k = 0; k < hit.size; k++) {
+                int i = hit.items[k];
+                player.damageHp(ATK_DAMAGE);
+
+                // Knockback
+                Vector2 dir = knockTmp.set(pp).sub(s.x[i], s.y[i]);
+                if (!dir.isZero()) {
+                    dir.nor().scl(PhysicsScale.toMeters(KNOCKBACK) * pb.getMass());
+                    pb.applyLinearImpulse(dir, pb.getWorldCenter(), true);
+                }
+
+                // Hit marker (red) at player
+                hits.spawn(pp.x, pp.y + 40f, Integer.toString(Math.round(ATK_DAMAGE)), HitMarkerSystem.RED, 0.8f);
+            }
+        }
+    }
 
-        switch (atkState) {
-            case IDLE: {
+    private static void decideAttack(EnemyStore s, int i, float delta, float px, float py, float reach,
+                                     IntArray landed, IntArray calmed) {
+        float ex = s.x[i], ey = s.y[i];
+        switch (s.atkState[i]) {
+            case EnemyStore.ATK_IDLE: {
                 // Start an attack if player within range
-                float dist = ep.dst(pp);
-                if (dist <= atkRange + player.getWidth()*0.25f) {
-                    atkState = AttackState.WINDUP;
-                    atkTimer = 0f;
-                    didHitThisAttack = false;
-                    atkAimDeg = MathUtils.atan2(pp.y - ep.y, pp.x - ep.x) * MathUtils.radiansToDegrees;
+                float dx = px - ex, dy = py - ey;
+                if (dx * dx + dy * dy <= reach * reach) {
+                    s.atkState[i] = EnemyStore.ATK_WINDUP;
+                    s.atkTimer[i] = 0f;
+                    s.didHit[i] = false;
+                    s.atkAim[i] = MathUtils.atan2(dy, dx) * MathUtils.radiansToDegrees;
                 }
             } break;
 
-            case WINDUP: {
-                atkTimer += delta;
-                if (atkTimer >= atkWindup) {
-                    atkState = AttackState.STRIKE;
-                    atkTimer = 0f;
+            case EnemyStore.ATK_WINDUP: {
+                s.atkTimer[i] += delta;
+                if (s.atkTimer[i] >= ATK_WINDUP) {
+                    s.atkState[i] = EnemyStore.ATK_STRIKE;
+                    s.atkTimer[i] = 0f;
                     // Re-lock aim right before striking
-                    atkAimDeg = MathUtils.atan2(pp.y - ep.y, pp.x - ep.x) * MathUtils.radiansToDegrees;
+                    s.atkAim[i] = MathUtils.atan2(py - ey, px - ex) * MathUtils.radiansToDegrees;
                 }
             } break;
 
-            case STRIKE: {
-                atkTimer += delta;
+            case EnemyStore.ATK_STRIKE: {
+                s.atkTimer[i] += delta;
                 // Deal damage once if player is inside the strike arc
-                if (!didHitThisAttack) {
-                    if (isPointInArc(pp.x, pp.y, ep.x, ep.y, atkAimDeg, atkArcDeg, atkRange + player.getWidth()*0.25f)) {
-                        didHitThisAttack = true;
-                        player.damageHp(atkDamage);
-
-                        // Knockback
-                        Vector2 dir = new Vector2(pp).sub(ep);
-                        if (!dir.isZero()) {
-                            dir.nor().scl(knockback * player.getBody().getMass());
-                            player.getBody().applyLinearImpulse(dir, player.getBody().getWorldCenter(), true);
-                        }
-
-                        // Hit marker (red) at player
-                        hits.spawn(pp.x, pp.y + 40f, Integer.toString(Math.round(atkDamage)), HitMarkerSystem.RED, 0.8f);
-                    }
+                if (!s.didHit[i] && isPointInArc(px, py, ex, ey, s.atkAim[i], ATK_ARC_DEG, reach)) {
+                    s.didHit[i] = true;
+                    landed.add(i);
                 }
-                if (atkTimer >= atkStrike) {
-                    atkState = AttackState.COOLDOWN;
-                    atkTimer = 0f;
+                if (s.atkTimer[i] >= ATK_STRIKE) {
+                    s.atkState[i] = EnemyStore.ATK_COOLDOWN;
+                    s.atkTimer[i] = 0f;
                 }
             } break;
 
-            case COOLDOWN: {
-                atkTimer += delta;
-                if (atkTimer >= atkCooldown) {
-                    atkState = AttackState.IDLE;
-                    atkTimer = 0f;
-                    // restore damping after attack
-                    body.setLinearDamping(0.5f);
+            case EnemyStore.ATK_COOLDOWN: {
+                s.atkTimer[i] += delta;
+                if (s.atkTimer[i] >= ATK_COOLDOWN_TIME) {
+                    s.atkState[i] = EnemyStore.ATK_IDLE;
+                    s.atkTimer[i] = 0f;
+                    s.clearThink(i); // pre-attack steering is stale; think on the next slice
+                    calmed.add(i);   // restore damping after attack
                 }
             } break;
         }
     }
 
     // Point-in-arc test (center x0,y0; arc centered at aimDeg, width arcDeg, radius r)
-    private boolean isPointInArc(float x, float y, float x0, float y0, float aimDeg, float arcDeg, float r) {
+    private static boolean isPointInArc(float x, float y, float x0, float y0, float aimDeg, float arcDeg, float r) {
         float dx = x - x0, dy = y - y0;
         float dist2 = dx*dx + dy*dy;
         if (dist2 > r*r) return false;
@@ -185,34 +268,32 @@ public class Enemy {
         return Math.abs(da) <= (arcDeg * 0.5f);
     }
 
-    private float wrapDeg(float a) {
+    private static float wrapDeg(float a) {
         a = (a + 180f) % 360f;
         if (a < 0f) a += 360f;
         return a - 180f;
     }
 
-    // ===== Telegraph / strike drawing =====
-    public void renderAttack(ShapeRenderer sr) {
-        if (atkState == AttackState.IDLE) return;
-
-        float cx = body.getPosition().x;
-        float cy = body.getPosition().y;
-
-        if (atkState == AttackState.WINDUP) {
-            float t = MathUtils.clamp(atkTimer / atkWindup, 0f, 1f);
-            float radius = MathUtils.lerp(20f, atkRange, t);
-            drawSector(sr, cx, cy, radius, atkAimDeg - atkArcDeg*0.5f, atkArcDeg,
-                28, 1f, 0.6f, 0f, 0.35f); // orange, transparent
-        } else if (atkState == AttackState.STRIKE) {
-            drawSector(sr, cx, cy, atkRange, atkAimDeg - atkArcDeg*0.5f, atkArcDeg,
-                32, 1f, 0.1f, 0.1f, 0.55f); // red, bolder
+    // ===== Telegraph / strike drawing (render thread, from a snapshot) =====
+    public static void renderAttacks(RenderSnapshot s, ShapeRenderer sr) {
+        for (int i = 0; i < s.enemyCount; i++) {
+            byte st = s.enemyAtkState[i];
+            if (st == EnemyStore.ATK_WINDUP) {
+                float t = MathUtils.clamp(s.enemyAtkTimer[i] / ATK_WINDUP, 0f, 1f);
+                float radius = MathUtils.lerp(20f, ATK_RANGE, t);
+                drawSector(sr, s.enemyDrawX(i), s.enemyDrawY(i), radius, s.enemyAtkAim[i] - ATK_ARC_DEG*0.5f, ATK_ARC_DEG,
+                    28, 1f, 0.6f, 0f, 0.35f); // orange, transparent
+            } else if (st == EnemyStore.ATK_STRIKE) {
+                drawSector(sr, s.enemyDrawX(i), s.enemyDrawY(i), ATK_RANGE, s.enemyAtkAim[i] - ATK_ARC_DEG*0.5f, ATK_ARC_DEG,
+                    32, 1f, 0.1f, 0.1f, 0.55f); // red, bolder
+            }
         }
     }
 
     // Filled wedge using triangle fan
-    private void drawSector(ShapeRenderer sr, float cx, float cy, float radius,
-                            float startDeg, float degrees, int segments,
-                            float r, float g, float b, float a) {
+    private static void drawSector(ShapeRenderer sr, float cx, float cy, float radius,
+                                   float startDeg, float degrees, int segments,
+                                   float r, float g, float b, float a) {
         float step = degrees / segments;
         float ang = startDeg;
         sr.setColor(r, g, b, a);
@@ -227,23 +308,42 @@ public class Enemy {
         }
     }
 
-    public void render(SpriteBatch batch) { if (!dead) sprite.draw(batch); }
-
-    public void dispose(WorldManager world) {
-        world.getWorld().destroyBody(body);
+    /** Copy the on-screen (full tier), alive enemies for drawing; simulation thread, end of a batch. */
+    public static void capture(EnemyStore s, RenderSnapshot out) {
+        out.ensureEnemies(s.size);
+        int n = 0;
+        for (int i = 0; i < s.size; i++) {
+            if (s.isDead(i) || s.tier[i] != EnemyStore.TIER_FULL) continue;
+            out.enemyPrevX[n] = s.prevX[i]; out.enemyPrevY[n] = s.prevY[i];
+            out.enemyX[n] = s.x[i]; out.enemyY[n] = s.y[i];
+            out.enemyAtkState[n] = s.atkState[i];
+            out.enemyAtkTimer[n] = s.atkTimer[i];
+            out.enemyAtkAim[n] = s.atkAim[i];
+            n++;
+        }
+        out.enemyCount = n;
     }
 
-    public Vector2 getPosition() { return body.getPosition(); }
+    /** Load the shared texture (GL thread), before anything is queued with {@link #submit}. */
+    public static void loadSharedTexture() {
+        if (drawSprite != null) return;
+        if (sharedTexture == null) sharedTexture = new Texture("enemy1.png");
+        drawSprite = new Sprite(sharedTexture);
+        drawSprite.setSize(SIZE, SIZE);
+    }
 
-    // Health API
-    public void damage(float amount) {
-        if (dead) return;
-        hp -= amount;
-        if (hp <= 0f) { hp = 0f; dead = true; }
+    /** Sprites at their interpolated positions (render queue worker). */
+    public static void submit(RenderSnapshot s, RenderQueue queue) {
+        float half = SIZE / 2f;
+        for (int i = 0; i < s.enemyCount; i++) {
+            float x = s.enemyDrawX(i), y = s.enemyDrawY(i);
+            drawSprite.setPosition(x - half, y - half);
+            queue.submit(RenderQueue.LAYER_WORLD, y, drawSprite);
+        }
     }
-    public boolean isDead() { return dead; }
 
     public static void disposeSharedTexture() {
+        drawSprite = null;
         if (sharedTexture != null) { sharedTexture.dispose(); sharedTexture = null; }
     }
 }
@@ -1,25 +1,34 @@
 package com.rgs.runesurvivor.entities;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
-import com.badlogic.gdx.utils.ObjectSet;
-import com.rgs.runesurvivor.input.InputController;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntSet;
 import com.rgs.runesurvivor.world.WorldManager;
+import com.rgs.runesurvivor.world.CollisionLayers;
+import com.rgs.runesurvivor.world.EnemyGrid;
 import com.rgs.runesurvivor.world.EnemyManager;
+import com.rgs.runesurvivor.world.EnemyStore;
+import com.rgs.runesurvivor.world.HitMarkerSink;
 import com.rgs.runesurvivor.world.HitMarkerSystem;
+import com.rgs.runesurvivor.world.PhysicsScale;
+import com.rgs.runesurvivor.world.RenderQueue;
+import com.rgs.runesurvivor.world.RenderSnapshot;
 
 public class Player {
     private final Body body;
     private final Sprite sprite;
     private final Texture texture;
-    private final InputController input;
+    private final float size;
     private final Vector2 tmpMove = new Vector2();
+    private final Vector2 moveInput = new Vector2();  // latest movement input (set before each batch of steps)
+    private final Vector2 prevPos = new Vector2();   // body position before the current physics step (px)
+    private final Vector2 pos = new Vector2();       // body position in px (see getPosition)
 
     // ------- Movement -------
     private float moveSpeed = 100f;
@@ -28,10 +37,11 @@ public class Player {
     private static final float DAMPING_IDLE = 8f;
 
     // ------- Facing / sword overlay -------
+    // Simulation state only; the sprites are set up from a RenderSnapshot on the render queue's worker
     private boolean facingRight = true;
     private boolean swordEquipped = false; // you can toggle via inventory
-    private Texture swordTex;
-    private Sprite swordSprite;
+    private final Texture swordTex;        // loaded up front: the worker can't create textures
+    private final Sprite swordSprite;
     private static final float SWORD_SIZE = 80f;
     private static final float SWORD_OFFSET_Y_IDLE = 10f;
     private static final float SWORD_OFFSET_X_RIGHT_IDLE = 60f;
@@ -64,7 +74,10 @@ public class Player {
     private float aimAngleRad = 0f;         // aim at click time
     private float hitAngleWidthDeg = 28f;   // how "thick" the blade is for hits
     private float swingRadius = 88f;        // distance of blade center from player center
-    private final ObjectSet<Enemy> hitThisSwing = new ObjectSet<>();
+    private final IntSet hitThisSwing = new IntSet();       // enemy ids
+    private float prevBladeRad = Float.NaN;                 // blade angle at the last hit test (NaN = swing just started)
+    private final IntArray swingCandidates = new IntArray();
+    private float bladeRad, bladeDeg;                       // blade angle around the player / sprite rotation
 
     // --- Stamina ---
     private float maxStamina = 100f;
@@ -73,17 +86,14 @@ public class Player {
     private float dashCost = 30f;
 
     // --- Dash ---
+    // A velocity move: Box2D stops it at trees and shores; enemies are passed through (mask below)
     private boolean dashing = false;
     private float dashTimer = 0f;
     private float dashDuration = 0.18f;       // seconds
-    private float dashSpeed = 180f;           // target dash speed (u/s)
-    private float dashMaxSpeed = 200f;        // temporary clamp while dashing
+    private float dashSpeed = 180f;           // base dash speed (u/s); the distance is 5x speed * duration
     private final Vector2 dashDir = new Vector2(1, 0);
-
-    // Long dash via position-lerp (ignores Box2D speed cap safely)
-    private final Vector2 dashStartPos = new Vector2();
-    private final Vector2 dashEndPos   = new Vector2();
-    private float dashDistance = 0f;     // computed per dash (~10x old distance)
+    private float dashDistance = 0f;          // px, per dash
+    private final Filter walkFilter = new Filter(), dashFilter = new Filter();
 
     // --- Dash cooldown ---
     private float dashCooldown = 2f;   // ← change this default length (seconds)
@@ -99,139 +109,128 @@ public class Player {
     public void addGold(int delta) { gold = Math.max(0, gold + delta); }
 
 
-    public Player(WorldManager worldManager, float startX, float startY, InputController input) {
-        this.input = input;
-
+    public Player(WorldManager worldManager, float startX, float startY) {
         texture = new Texture("player1.png");
         sprite  = new Sprite(texture);
-        float size = 100f;
+        size = 100f;
         sprite.setSize(size, size);
 
+        swordTex = new Texture("sword1.png");
+        swordSprite = new Sprite(swordTex);
+        swordSprite.setSize(SWORD_SIZE, SWORD_SIZE);
+        swordSprite.setOriginCenter();
+
         BodyDef bd = new BodyDef();
         bd.type = BodyDef.BodyType.DynamicBody;
-        bd.position.set(startX, startY);
+        bd.position.set(PhysicsScale.toMeters(startX), PhysicsScale.toMeters(startY));
         body = worldManager.getWorld().createBody(bd);
 
         CircleShape shape = new CircleShape();
-        shape.setRadius(size / 2f);
+        shape.setRadius(PhysicsScale.toMeters(size / 2f));
 
         FixtureDef fd = new FixtureDef();
         fd.shape = shape;
         fd.density = 1f;
         fd.friction = 0.5f;
         fd.restitution = 0.2f;
+        CollisionLayers.apply(fd.filter, CollisionLayers.PLAYER);
         body.createFixture(fd);
         shape.dispose();
+        prevPos.set(startX, startY);
+
+        walkFilter.set(fd.filter);
+        dashFilter.set(fd.filter);
+        dashFilter.maskBits = (short)(fd.filter.maskBits & ~CollisionLayers.ENEMY);
     }
 
-    // ---------------- Movement & sprite sync ----------------
-    public void update() {
-        input.getMove(tmpMove);
+    /** Body position in pixels / world units (the body itself is in meters, see {@link PhysicsScale}). */
+    public Vector2 getPosition() {
+        return PhysicsScale.toPixels(body.getPosition(), pos);
+    }
+
+    // ---------------- Movement ----------------
+    /** Remember where the body is before the next physics step (for interpolated drawing). */
+    public void beginStep() {
+        prevPos.set(getPosition());
+    }
+
+    /** Movement direction from the input (x,y in -1..1), used by the following steps. */
+    public void setMoveInput(float x, float y) {
+        moveInput.set(x, y);
+    }
+
+    /** One fixed step of movement, dash and timers. */
+    public void update(float delta) {
+        tmpMove.set(moveInput);
 
         if (tmpMove.isZero(0.0001f)) {
-            body.setLinearDamping(dashing ? 0.1f : DAMPING_IDLE);
+            body.setLinearDamping(dashing ? 0f : DAMPING_IDLE);
             Vector2 v = body.getLinearVelocity();
             if (!dashing && v.len2() < 0.0001f) body.setLinearVelocity(0f, 0f);
         } else if (!dashing) { // only apply walk acceleration if not dashing
             body.setLinearDamping(DAMPING_MOVE);
-            tmpMove.scl(moveSpeed);
+            tmpMove.scl(PhysicsScale.toMeters(moveSpeed));
             Vector2 v = body.getLinearVelocity();
             Vector2 impulse = tmpMove.sub(v).scl(body.getMass());
             body.applyLinearImpulse(impulse, body.getWorldCenter(), true);
         }
 
         // Dash maintenance
-        updateDash(Gdx.graphics.getDeltaTime());
+        updateDash(delta);
 
-        // Clamp (dash has a higher cap)
+        // Clamp walking speed (the dash sets its own velocity)
         Vector2 vel = body.getLinearVelocity();
-        float cap = dashing ? dashMaxSpeed : maxSpeed;
-        if (vel.len2() > cap * cap) {
+        float cap = PhysicsScale.toMeters(maxSpeed);
+        if (!dashing && vel.len2() > cap * cap) {
             vel.nor().scl(cap);
             body.setLinearVelocity(vel);
         }
 
         // Facing from movement if not attacking
-        final float eps = 0.05f;
+        final float eps = PhysicsScale.toMeters(0.05f);
         if (!attacking) {
             if (vel.x > eps && !facingRight) {
                 facingRight = true;
-                if (sprite.isFlipX()) sprite.flip(true, false);
-                } else if (vel.x < -eps && facingRight) {
+            } else if (vel.x < -eps && facingRight) {
                 facingRight = false;
-                if (!sprite.isFlipX()) sprite.flip(true, false);
             }
         }
 
-        // Sync player sprite to body
-        sprite.setPosition(
-            body.getPosition().x - sprite.getWidth() / 2f,
-            body.getPosition().y - sprite.getHeight() / 2f
-        );
-
-        // Idle sword (no attack)
-        if (swordEquipped && swordSprite != null && !attacking) {
-            float offsetX = facingRight ? SWORD_OFFSET_X_RIGHT_IDLE : SWORD_OFFSET_X_LEFT_IDLE;
-            float offsetY = SWORD_OFFSET_Y_IDLE;
-
-            swordSprite.setSize(SWORD_SIZE, SWORD_SIZE);
-            swordSprite.setOriginCenter();
-            swordSprite.setRotation(SWORD_TEX_RIGHT_DEG);   // same rotation for both facings
-            syncSwordFlipToFacing();                         // ← flip horizontally if facing left
-
-            swordSprite.setPosition(
-                sprite.getX() + sprite.getWidth()/2f - SWORD_SIZE/2f + offsetX,
-                sprite.getY() + sprite.getHeight()/2f - SWORD_SIZE/2f + offsetY
-            );
-        }
-
         // Cooldown tick
-        if (cooldownTimer > 0f) cooldownTimer -= Gdx.graphics.getDeltaTime();
+        if (cooldownTimer > 0f) cooldownTimer -= delta;
 
-        if (dashCooldownTimer > 0f) dashCooldownTimer -= Gdx.graphics.getDeltaTime();
+        if (dashCooldownTimer > 0f) dashCooldownTimer -= delta;
 
         // Stamina regen (no regen while dashing)
         if (!dashing && stamina < maxStamina) {
-            stamina = Math.min(maxStamina, stamina + staminaRegenPerSec * Gdx.graphics.getDeltaTime());
+            stamina = Math.min(maxStamina, stamina + staminaRegenPerSec * delta);
         }
     }
 
-    // ---------------- Combat (called from GameScreen with mouse) ----------------
+    // ---------------- Combat (one fixed step, with the mouse in world units) ----------------
     public void updateCombat(float delta, Vector2 mouseWorld, boolean attackPressed, boolean attackHeld,
-                             EnemyManager enemyManager, HitMarkerSystem hits) {
+                             EnemyManager enemyManager, HitMarkerSink hits) {
         if (!swordEquipped) return;
 
         // --- Attack start ---
         // Start attack on click OR keep chaining while held when cooldown is ready
         if (!attacking && cooldownTimer <= 0f && (attackPressed || attackHeld)) {
             // Aim toward mouse
-            Vector2 center = body.getPosition();
+            Vector2 center = getPosition();
             aimAngleRad = MathUtils.atan2(mouseWorld.y - center.y, mouseWorld.x - center.x);
 
-            // Face according to aim (flip PLAYER sprite if you’re using flip)
-            boolean wantRight = MathUtils.cos(aimAngleRad) >= 0f;
-            if (wantRight != facingRight) {
-                facingRight = wantRight;
-                sprite.flip(true, false); // keep/remove based on your player art
-            }
+            // Face according to aim
+            facingRight = MathUtils.cos(aimAngleRad) >= 0f;
 
             // Begin swing
             attacking = true;
             swingTimer = 0f;
             hitThisSwing.clear();
+            prevBladeRad = Float.NaN;
 
-            // Ensure sword sprite exists
-            if (swordTex == null) swordTex = new Texture("sword1.png");
-            if (swordSprite == null) {
-                swordSprite = new Sprite(swordTex);
-                swordSprite.setSize(SWORD_SIZE, SWORD_SIZE);
-                swordSprite.setOriginCenter();
-            }
-
-            // Lock swing facing/baseline; swing vertical flip only when facing left (as you set before)
+            // Lock swing facing/baseline (the sword flips vertically for left-facing swings)
             swingFacingRight = facingRight;
             swingBaselineDeg = SWORD_TEX_RIGHT_DEG;
-            swordSprite.setFlip(false, !swingFacingRight); // flipY when left only
         }
 
         // --- Swing progress & hits ---
@@ -246,43 +245,45 @@ public class Player {
             float curDeg  = aimDeg - dir * halfArc + dir * (t * swingArcDeg);
             float curRad  = curDeg * MathUtils.degreesToRadians;
 
-            // Position the sword along the arc
-            float cx = body.getPosition().x + MathUtils.cos(curRad) * swingRadius;
-            float cy = body.getPosition().y + MathUtils.sin(curRad) * swingRadius;
-
-            swordSprite.setSize(SWORD_SIZE, SWORD_SIZE);
-            swordSprite.setOriginCenter();
-            swordSprite.setRotation(curDeg + swingBaselineDeg);
-
-            // Keep vertical flip ONLY for left-facing swings; no horizontal flip during swing
-            swordSprite.setFlip(false, !swingFacingRight);
+            // Sword along the arc (placed around the drawn player in submit)
+            bladeRad = curRad;
+            bladeDeg = curDeg + swingBaselineDeg;
 
-            swordSprite.setPosition(cx - SWORD_SIZE / 2f, cy - SWORD_SIZE / 2f);
-
-            // Hit detection window
+            // Hit detection: the sector the blade swept since the last test (so low FPS can't skip enemies),
+            // with candidates from the enemy grid instead of every enemy
             float hitHalfRad = (hitAngleWidthDeg * 0.5f) * MathUtils.degreesToRadians;
             float reach = swingRadius + SWORD_SIZE * 0.5f + 20f;
-
-            for (Enemy e : enemyManager.getEnemies()) {
-                if (hitThisSwing.contains(e)) continue;
-
-                Vector2 ep = e.getPosition();
-                float dx = ep.x - body.getPosition().x;
-                float dy = ep.y - body.getPosition().y;
+            float startRad = (aimDeg - dir * halfArc) * MathUtils.degreesToRadians;
+            float fromRad = Float.isNaN(prevBladeRad) ? startRad : prevBladeRad;
+            prevBladeRad = curRad;
+
+            // swept interval in swing direction, widened by the blade thickness
+            float lo = Math.min(fromRad, curRad) - hitHalfRad;
+            float hi = Math.max(fromRad, curRad) + hitHalfRad;
+
+            EnemyStore es = enemyManager.getEnemies();
+            Vector2 center = getPosition();
+            float px = center.x, py = center.y;
+            querySector(enemyManager.getGrid(), px, py, reach, lo, hi);
+            float mid = (lo + hi) * 0.5f, halfSpan = (hi - lo) * 0.5f;
+
+            for (int k = 0; k < swingCandidates.size; k++) {
+                int i = swingCandidates.get(k);
+                float dx = es.x[i] - px;
+                float dy = es.y[i] - py;
                 float dist2 = dx * dx + dy * dy;
                 if (dist2 > reach * reach) continue;
 
                 float eAng = MathUtils.atan2(dy, dx);
-                float deltaAng = wrapToPi(eAng - curRad); // wrap to [-PI, PI]
-                if (Math.abs(deltaAng) <= hitHalfRad) {
+                float deltaAng = wrapToPi(eAng - mid); // wrap to [-PI, PI]
+                if (Math.abs(deltaAng) <= halfSpan && hitThisSwing.add(es.id[i])) {
                     boolean crit = MathUtils.random() < critChance;
                     float dmg = crit ? attack * critMultiplier : attack;
 
-                    e.damage(dmg);
-                    hitThisSwing.add(e);
+                    es.damage(i, dmg);
 
                     hits.spawn(
-                        ep.x, ep.y + 35f,
+                        es.x[i], es.y[i] + 35f,
                         Integer.toString(Math.round(dmg)),
                         crit ? HitMarkerSystem.GOLD : HitMarkerSystem.WHITE,
                         0.8f
@@ -294,36 +295,65 @@ public class Player {
             if (swingTimer >= swingDuration) {
                 attacking = false;
                 cooldownTimer = attackCooldown;
-
-                // Restore vertical flip to OFF; keep current horizontal state unchanged
-                if (swordSprite != null) {
-                    swordSprite.setFlip(swordSprite.isFlipX(), false);
-                }
             }
         }
     }
 
-    // ---------------- Rendering ----------------
-    // Draw sword separately (between enemies and player) so sword is above enemies but below player
-    public void renderSword(SpriteBatch batch) {
-        if (swordEquipped && swordSprite != null) {
-            swordSprite.draw(batch);
-        }
+    // ---------------- Snapshot (simulation thread) ----------------
+    /** Copy what drawing needs; positions for the previous and current step. */
+    public void capture(RenderSnapshot s) {
+        Vector2 p = getPosition();
+        s.playerPrevX = prevPos.x; s.playerPrevY = prevPos.y;
+        s.playerX = p.x; s.playerY = p.y;
+        s.facingRight = facingRight;
+        s.swordEquipped = swordEquipped;
+        s.attacking = attacking;
+        s.swingFacingRight = swingFacingRight;
+        s.bladeRad = bladeRad;
+        s.bladeDeg = bladeDeg;
+        s.dashing = dashing;
+        s.hp = currentHp;
+        s.maxHp = maxHp;
+        s.gold = gold;
     }
 
-    public void render(SpriteBatch batch) {
-        sprite.draw(batch);
+    // ---------------- Rendering (render queue worker, from a snapshot) ----------------
+    // Player + sword at the interpolated position, Y-sorted with the world; the sword sits one band
+    // behind so it stays below the player
+    public void submit(RenderQueue queue, RenderSnapshot s) {
+        float x = s.playerDrawX(), y = s.playerDrawY();
+        sprite.setFlip(!s.facingRight, false);
+        sprite.setPosition(x - size / 2f, y - size / 2f);
+
+        if (s.swordEquipped) {
+            if (s.attacking) {
+                // along the swing arc; vertical flip ONLY for left-facing swings
+                float cx = x + MathUtils.cos(s.bladeRad) * swingRadius;
+                float cy = y + MathUtils.sin(s.bladeRad) * swingRadius;
+                swordSprite.setRotation(s.bladeDeg);
+                swordSprite.setFlip(false, !s.swingFacingRight);
+                swordSprite.setPosition(cx - SWORD_SIZE / 2f, cy - SWORD_SIZE / 2f);
+            } else {
+                // Idle sword (no attack), flipped horizontally when facing left
+                float offsetX = s.facingRight ? SWORD_OFFSET_X_RIGHT_IDLE : SWORD_OFFSET_X_LEFT_IDLE;
+                swordSprite.setRotation(SWORD_TEX_RIGHT_DEG);   // same rotation for both facings
+                swordSprite.setFlip(!s.facingRight, false);
+                swordSprite.setPosition(x - SWORD_SIZE / 2f + offsetX, y - SWORD_SIZE / 2f + SWORD_OFFSET_Y_IDLE);
+            }
+            queue.submit(RenderQueue.LAYER_WORLD, y + RenderQueue.Y_BAND, swordSprite);
+        }
+        queue.submit(RenderQueue.LAYER_WORLD, y, sprite);
     }
 
-    // HP bar
-    public void renderHpBar(ShapeRenderer sr) {
-        if (maxHp <= 0f) return;
-        float ratio = Math.max(0f, currentHp / maxHp);
+    // HP bar (under the drawn player)
+    public void renderHpBar(ShapeRenderer sr, RenderSnapshot s) {
+        if (s.maxHp <= 0f) return;
+        float ratio = Math.max(0f, s.hp / s.maxHp);
 
-        float barWidth  = sprite.getWidth();
+        float barWidth  = size;
         float barHeight = 8f;
-        float x = sprite.getX();
-        float y = sprite.getY() - 12f;
+        float x = s.playerDrawX() - size / 2f;
+        float y = s.playerDrawY() - size / 2f - 12f;
 
         sr.setColor(0f, 0f, 0f, 0.5f);
         sr.rect(x, y, barWidth, barHeight);
@@ -333,10 +363,11 @@ public class Player {
     }
 
     // ---------------- API ----------------
+    /** The Box2D body (meters; use {@link #getPosition()} for px). */
     public Body getBody() { return body; }
     public void dispose() {
         texture.dispose();
-        if (swordTex != null) swordTex.dispose();
+        swordTex.dispose();
     }
 
     public void setMoveSpeed(float s) { moveSpeed = s; maxSpeed = s; }
@@ -348,18 +379,10 @@ public class Player {
         this.swordEquipped = equipped;
 
         if (!equipped) {
-            // cancel swing & hide overlay
+            // cancel swing (the sword stops drawing with the next snapshot)
             attacking = false;
             swingTimer = 0f;
             cooldownTimer = 0f;
-            // (keep swordSprite allocated but it won't draw when unequipped)
-            return;
-        }
-        if (swordTex == null) swordTex = new Texture("sword1.png");
-        if (swordSprite == null) {
-            swordSprite = new Sprite(swordTex);
-            swordSprite.setSize(SWORD_SIZE, SWORD_SIZE);
-            swordSprite.setOriginCenter();
         }
     }
 
@@ -376,6 +399,25 @@ public class Player {
     public void setCritChance(float v) { critChance = MathUtils.clamp(v, 0f, 1f); }
     public void setCritMultiplier(float v) { critMultiplier = Math.max(1f, v); }
 
+    // Grid candidates inside the bounding box of the sector (center, radius r, angles lo..hi)
+    private void querySector(EnemyGrid grid, float cx, float cy, float r, float lo, float hi) {
+        float minX = cx, maxX = cx, minY = cy, maxY = cy;   // the sector includes its center
+        float ax = cx + MathUtils.cos(lo) * r, ay = cy + MathUtils.sin(lo) * r;
+        float bx = cx + MathUtils.cos(hi) * r, by = cy + MathUtils.sin(hi) * r;
+        minX = Math.min(minX, Math.min(ax, bx)); maxX = Math.max(maxX, Math.max(ax, bx));
+        minY = Math.min(minY, Math.min(ay, by)); maxY = Math.max(maxY, Math.max(ay, by));
+        // axis extremes the arc passes through
+        for (int q = MathUtils.ceil(lo / MathUtils.HALF_PI); q * MathUtils.HALF_PI <= hi; q++) {
+            switch (q & 3) {
+                case 0: maxX = cx + r; break;
+                case 1: maxY = cy + r; break;
+                case 2: minX = cx - r; break;
+                default: minY = cy - r; break;
+            }
+        }
+        grid.query(minX, minY, maxX, maxY, swingCandidates);
+    }
+
     private static float wrapToPi(float a) {
         // Wrap angle in radians to [-PI, PI]
         a = (a + MathUtils.PI) % MathUtils.PI2;
@@ -383,22 +425,13 @@ public class Player {
         return a - MathUtils.PI;
     }
 
-    private void syncSwordFlipToFacing() {
-        if (swordSprite == null) return;
-        boolean wantFlipX = !facingRight;           // flip horizontally when facing left
-        if (swordSprite.isFlipX() != wantFlipX) {
-            swordSprite.flip(true, false);          // toggle to desired flipX state
-        }
-    }
-
     public float getAttack() { return attack; }
     public float getCritChance() { return critChance; }
     public float getCritMultiplier() { return critMultiplier; }
 
     public void setPosition(float x, float y) {
-        body.setTransform(x, y, body.getAngle());
-        // also snap sprite so we don't wait for update() to sync
-        sprite.setPosition(x - sprite.getWidth()/2f, y - sprite.getHeight()/2f);
+        body.setTransform(PhysicsScale.toMeters(x), PhysicsScale.toMeters(y), body.getAngle());
+        prevPos.set(x, y); // a teleport, not a move: don't interpolate across it
     }
 
     public float getMaxStamina() { return maxStamina; }
@@ -407,7 +440,7 @@ public class Player {
     public void  setStamina(float v) { stamina = MathUtils.clamp(v, 0f, maxStamina); }
     public void  setStaminaRegen(float v) { staminaRegenPerSec = Math.max(0f, v); }
     public void  setDashCost(float v) { dashCost = Math.max(0f, v); }
-    public void  setDashSpeed(float v) { dashSpeed = Math.max(0f, v); dashMaxSpeed = Math.max(dashSpeed, dashMaxSpeed); }
+    public void  setDashSpeed(float v) { dashSpeed = Math.max(0f, v); }
     public boolean isDashing() { return dashing; }
 
     public boolean tryStartDash(Vector2 mouseWorld) {
@@ -416,7 +449,7 @@ public class Player {
         if (stamina < dashCost) return false;
 
         // Aim direction (fallback to facing)
-        Vector2 center = body.getPosition();
+        Vector2 center = getPosition();
         dashDir.set(mouseWorld.x - center.x, mouseWorld.y - center.y);
         if (dashDir.isZero(0.0001f)) dashDir.set(facingRight ? 1f : -1f, 0f);
         dashDir.nor();
@@ -425,27 +458,6 @@ public class Player {
         float base = dashSpeed * dashDuration;
         dashDistance = base * 5f;                 // ← main change: MUCH farther
 
-        // Raycast to clamp end before static colliders (e.g., water edges)
-        com.badlogic.gdx.physics.box2d.World w = body.getWorld();
-        dashStartPos.set(center);
-        Vector2 desiredEnd = new Vector2(center).mulAdd(dashDir, dashDistance);
-
-        final float[] minFrac = {1f}; // 1 = no hit
-        w.rayCast((fixture, point, normal, fraction) -> {
-            // Ignore self and non-static bodies (dash passes through enemies)
-            if (fixture.getBody() == body) return -1f;
-            if (fixture.getBody().getType() != BodyDef.BodyType.StaticBody) return 1f;
-            if (fraction < minFrac[0]) minFrac[0] = fraction;
-            return 1f; // continue to find closest
-        }, dashStartPos, desiredEnd);
-
-        float useFrac = minFrac[0] * 0.98f; // keep a tiny gap from the hit
-        if (useFrac < 1f) {
-            dashEndPos.set(dashStartPos).mulAdd(dashDir, dashDistance * useFrac);
-        } else {
-            dashEndPos.set(desiredEnd);
-        }
-
         // Pay cost & start dash
         stamina -= dashCost;
         dashing = true;
@@ -456,8 +468,9 @@ public class Player {
         // Optional: cancel swing during dash (uncomment if desired)
         // attacking = false; swingTimer = 0f;
 
-        // Reduce damping so the body doesn’t fight setTransform “momentum”
-        body.setLinearDamping(0.1f);
+        // No damping during the dash, and through enemies (static colliders still stop it)
+        body.setLinearDamping(0f);
+        setFilter(dashFilter);
         return true;
     }
 
@@ -465,26 +478,29 @@ public class Player {
         if (!dashing) return;
 
         dashTimer += delta;
-        float t = MathUtils.clamp(dashTimer / dashDuration, 0f, 1f);
-
-        // Smooth ease-out (feel free to change)
-        float s = t * (2f - t);
-
-        // Lerp position along dash path (ignores Box2D velocity caps)
-        float nx = MathUtils.lerp(dashStartPos.x, dashEndPos.x, s);
-        float ny = MathUtils.lerp(dashStartPos.y, dashEndPos.y, s);
-        body.setTransform(nx, ny, body.getAngle());
-
         if (dashTimer >= dashDuration) {
             dashing = false;
-            // Kill excess velocity and restore normal damping
+            // Kill excess velocity and restore normal damping / collisions
             body.setLinearVelocity(0f, 0f);
             body.setLinearDamping(DAMPING_MOVE);
+            setFilter(walkFilter);
+            return;
         }
+
+        // Ease-out over the dash: distance s(t) = D * t(2 - t), so speed = D * (2 - 2t) / duration
+        // (sampled mid-step so the steps add up to D)
+        float t = MathUtils.clamp((dashTimer - delta * 0.5f) / dashDuration, 0f, 1f);
+        float speed = PhysicsScale.toMeters(dashDistance) * (2f - 2f * t) / dashDuration;
+        body.setLinearVelocity(dashDir.x * speed, dashDir.y * speed);
+    }
+
+    private void setFilter(Filter f) {
+        Array<Fixture> fixtures = body.getFixtureList();
+        for (int i = 0; i < fixtures.size; i++) fixtures.get(i).setFilterData(f);
     }
 
-    public float getWidth()  { return sprite.getWidth(); }
-    public float getHeight() { return sprite.getHeight(); }
+    public float getWidth()  { return size; }
+    public float getHeight() { return size; }
     public boolean isFacingRight() { return facingRight; }
     public com.badlogic.gdx.graphics.Texture getTexture() { return texture; }
 }
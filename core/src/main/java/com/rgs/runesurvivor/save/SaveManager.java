@@ -3,7 +3,6 @@ package com.rgs.runesurvivor.save;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.utils.TimeUtils;
 import com.rgs.runesurvivor.entities.Player;
 
@@ -29,14 +28,12 @@ public class SaveManager {
     }
 
     public void savePlayer(Player p) {
-        Body b = p.getBody();
-
         prefs.putInteger("version", SAVE_VERSION);
         prefs.putLong("savedAtMs", TimeUtils.millis());
 
         // Position
-        prefs.putFloat("player_x", b.getPosition().x);
-        prefs.putFloat("player_y", b.getPosition().y);
+        prefs.putFloat("player_x", p.getPosition().x);
+        prefs.putFloat("player_y", p.getPosition().y);
 
         prefs.putInteger("gold", p.getGold());
 
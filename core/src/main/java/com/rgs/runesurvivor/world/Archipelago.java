@@ -0,0 +1,376 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+/**
+ * Many seeded islands on a sparse grid of slots. The home island sits in slot (0,0) with the saved
+ * seed; every other slot holds an island or open sea depending on a hash of (world seed, slot).
+ * Slot grids touch, and neighbouring islands are joined by sand causeways (see
+ * {@link TerrainGenerator#BRIDGE_EAST}), so the player can walk from island to island; the home island
+ * always has an eastern neighbour.
+ * Only islands near the camera are resident (chunk textures, water colliders, ResourceManager nodes).
+ * An island the view approaches is prepared on a paging worker (cache read or generation, node
+ * layout) and only its sprites and colliders are made on the main thread.
+ * Islands the view leaves behind are disposed and live on as their {@link TerrainCache} (regenerated
+ * on the web, which keeps none), so memory and step time depend on the view, not on how far the
+ * player has travelled.
+ * Non-resident islands and empty slots read as water.
+ */
+public class Archipelago implements WorldTerrain, Disposable {
+
+    private static final float ISLAND_CHANCE = 0.45f; // odds that a non-home slot has an island
+
+    // One resident island
+    private static class Page {
+        final int sx, sy;
+        final IslandRenderer island;
+        final ResourceManager resources;
+
+        Page(int sx, int sy, IslandRenderer island, ResourceManager resources) {
+            this.sx = sx; this.sy = sy; this.island = island; this.resources = resources;
+        }
+    }
+
+    // One island being prepared on the paging worker (no GL / Box2D yet)
+    private static class Prepared {
+        final int sx, sy;
+        final long cacheKey;
+        final IslandRenderer island;
+        final TerrainCache cache;     // null: generated, write one on adoption
+        final float[] nodes;          // ResourceManager layout
+
+        Prepared(int sx, int sy, long cacheKey, IslandRenderer island, TerrainCache cache, float[] nodes) {
+            this.sx = sx; this.sy = sy; this.cacheKey = cacheKey;
+            this.island = island; this.cache = cache; this.nodes = nodes;
+        }
+    }
+
+    private final long worldSeed;
+    private final World world;
+    private final TerrainPlatform platform;
+    private final int cols, rows;          // per island
+    private final float cellWorld;
+    private final float islandWorld;       // island side (world units)
+    private final float slotWorld;         // distance between slot centers (= island side: grids touch)
+
+    private final LongMap<Page> resident = new LongMap<>();
+    private final LongMap<AsyncResult<Prepared>> pending = new LongMap<>();
+    private AsyncExecutor pager;           // created on the first background page-in
+    private int terrainVersion;                     // bumped on every page in/out
+
+    // Paging (world units beyond the view rect)
+    private float pageInMargin  = 4000f;
+    private float pageOutMargin = 8000f;
+    private int   maxPageInsPerUpdate = 1;
+
+    // scratch
+    private final Vector2 tmp = new Vector2();
+    private final Rectangle view = new Rectangle();
+    private final Array<Page> evictTmp = new Array<>();
+
+    public Archipelago(long worldSeed, World world, int cols, int rows, float cellWorld) {
+        this(worldSeed, world, cols, rows, cellWorld, TerrainPlatform.SERIAL);
+    }
+
+    /** @param platform threads / storage available for terrain generation (see {@link TerrainPlatform}) */
+    public Archipelago(long worldSeed, World world, int cols, int rows, float cellWorld, TerrainPlatform platform) {
+        this.worldSeed = worldSeed;
+        this.world = world;
+        this.platform = platform;
+        this.cols = cols;
+        this.rows = rows;
+        this.cellWorld = cellWorld;
+        this.islandWorld = Math.max(cols, rows) * cellWorld;
+        this.slotWorld = islandWorld;
+
+        adopt(prepare(0, 0)); // home is always there at start (spawn, save snapping)
+    }
+
+    // ---------- Layout (pure functions of the world seed) ----------
+
+    public boolean hasIsland(int sx, int sy) {
+        if (sy == 0 && (sx == 0 || sx == 1)) return true;  // home, and one neighbour to walk to
+        return (mix(worldSeed ^ TerrainGenerator.chunkKey(sx, sy) * 0x9E3779B97F4A7C15L) >>> 40) / (float)(1 << 24) < ISLAND_CHANCE;
+    }
+
+    /** Seed for a slot's island; home keeps the world seed, so existing saves see the same island. */
+    public long slotSeed(int sx, int sy) {
+        if (sx == 0 && sy == 0) return worldSeed;
+        return mix(worldSeed + TerrainGenerator.chunkKey(sx, sy) * 0xBF58476D1CE4E5B9L);
+    }
+
+    /** TerrainGenerator.BRIDGE_* sides of a slot whose neighbour slot has an island. */
+    public int bridgesOf(int sx, int sy) {
+        int b = 0;
+        if (hasIsland(sx + 1, sy)) b |= TerrainGenerator.BRIDGE_EAST;
+        if (hasIsland(sx - 1, sy)) b |= TerrainGenerator.BRIDGE_WEST;
+        if (hasIsland(sx, sy + 1)) b |= TerrainGenerator.BRIDGE_NORTH;
+        if (hasIsland(sx, sy - 1)) b |= TerrainGenerator.BRIDGE_SOUTH;
+        return b;
+    }
+
+    // Cache identity: the island's seed plus its causeways (bits 56..59)
+    private static long cacheKey(long seed, int bridges) {
+        return seed ^ ((long)bridges << 56);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private int slotOf(float w) { return (int)Math.floor(w / slotWorld + 0.5f); }
+
+    // ---------- Paging ----------
+
+    @Override
+    public void updateStreaming(Camera cam) {
+        float zoom = (cam instanceof OrthographicCamera) ? ((OrthographicCamera)cam).zoom : 1f;
+        float halfW = cam.viewportWidth * zoom * 0.5f;
+        float halfH = cam.viewportHeight * zoom * 0.5f;
+        float camX = cam.position.x, camY = cam.position.y;
+
+        // ---- 1) page out islands well outside the view ----
+        float outW = halfW + pageOutMargin, outH = halfH + pageOutMargin;
+        evictTmp.clear();
+        for (Page p : resident.values()) {
+            if (!islandOverlaps(p.sx, p.sy, camX, camY, outW, outH)) evictTmp.add(p);
+        }
+        for (int i = 0; i < evictTmp.size; i++) pageOut(evictTmp.get(i));
+        evictTmp.clear();
+
+        // ---- 2) adopt islands the worker has finished (dropping ones the view has already left) ----
+        LongMap.Entries<AsyncResult<Prepared>> it = pending.entries();
+        while (it.hasNext()) {
+            AsyncResult<Prepared> job = it.next().value;
+            if (!job.isDone()) continue;
+            it.remove();
+            Prepared p = job.get();
+            if (islandOverlaps(p.sx, p.sy, camX, camY, outW, outH)) adopt(p);
+            else p.island.dispose();
+        }
+
+        // ---- 3) queue islands the view is approaching (a few per update) ----
+        pageAround(camX, camY, halfW + pageInMargin, halfH + pageInMargin, maxPageInsPerUpdate, false);
+
+        // ---- 4) chunk streaming inside each resident island, and its node caches (so the render
+        //         queue's worker never sees their bounds change) ----
+        for (Page p : resident.values()) {
+            p.island.updateStreaming(cam);
+            p.resources.compileDirty();
+        }
+    }
+
+    /** Page in every island near (wx,wy) right away (e.g. before snapping a loaded save position). */
+    public void ensureResident(float wx, float wy) {
+        pageAround(wx, wy, pageInMargin, pageInMargin, Integer.MAX_VALUE, true);
+    }
+
+    private void pageAround(float x, float y, float halfW, float halfH, int budget, boolean now) {
+        int sx0 = slotOf(x - halfW), sx1 = slotOf(x + halfW);
+        int sy0 = slotOf(y - halfH), sy1 = slotOf(y + halfH);
+        for (int sy = sy0; sy <= sy1 && budget > 0; sy++) {
+            for (int sx = sx0; sx <= sx1 && budget > 0; sx++) {
+                long key = TerrainGenerator.chunkKey(sx, sy);
+                if (resident.containsKey(key) || !hasIsland(sx, sy)) continue;
+                if (!islandOverlaps(sx, sy, x, y, halfW, halfH)) continue;
+                AsyncResult<Prepared> job = pending.get(key);
+                if (now) {
+                    if (job != null) pending.remove(key);
+                    adopt(job != null ? job.get() : prepare(sx, sy));  // wait for / skip the worker
+                } else if (job == null) {
+                    final int fsx = sx, fsy = sy;
+                    pending.put(key, pager().submit(() -> prepare(fsx, fsy)));
+                    budget--;
+                }
+            }
+        }
+    }
+
+    private AsyncExecutor pager() {
+        if (pager == null) pager = new AsyncExecutor(1, "IslandPaging");
+        return pager;
+    }
+
+    private boolean islandOverlaps(int sx, int sy, float x, float y, float halfW, float halfH) {
+        float half = islandWorld * 0.5f;
+        return Math.abs(sx * slotWorld - x) < half + halfW && Math.abs(sy * slotWorld - y) < half + halfH;
+    }
+
+    // CPU half (worker-safe): cache or generator, chunk worker, node layout
+    private Prepared prepare(int sx, int sy) {
+        long seed = slotSeed(sx, sy);
+        int bridges = bridgesOf(sx, sy);
+        long key = cacheKey(seed, bridges);
+        TerrainCache cache = platform.openCache(key, cols, rows, cellWorld);
+
+        IslandRenderer island = new IslandRenderer(cols, rows, cellWorld, (int)(seed & 0x7fffffff), world, cache,
+            sx * slotWorld, sy * slotWorld, bridges, platform);
+        float[] nodes = cache != null ? ResourceManager.readLayout(island, cache)
+                                      : ResourceManager.generateLayout(island, seed);
+        return new Prepared(sx, sy, key, island, cache, nodes);
+    }
+
+    // GL/Box2D half (main thread, world idle): node sprites and colliders
+    private Page adopt(Prepared prepared) {
+        ResourceManager resources = new ResourceManager(prepared.island, world, prepared.nodes);
+
+        // first visit: write the cache in the background; that file is all that stays once paged out
+        if (prepared.cache == null && platform.hasCache()) {
+            prepared.island.writeCacheAsync(prepared.cacheKey, prepared.nodes, prepared.nodes.length / 5);
+        }
+
+        Page p = new Page(prepared.sx, prepared.sy, prepared.island, resources);
+        resident.put(TerrainGenerator.chunkKey(p.sx, p.sy), p);
+        terrainVersion++;
+        return p;
+    }
+
+    private void pageOut(Page p) {
+        resident.remove(TerrainGenerator.chunkKey(p.sx, p.sy));
+        terrainVersion++;
+        p.resources.dispose();  // node bodies
+        p.island.dispose();     // chunk textures + water colliders (waits for its worker)
+    }
+
+    // ---------- Queries ----------
+
+    // Resident island under (wx,wy), or null (sea / paged out)
+    private IslandRenderer islandAt(float wx, float wy) {
+        Page p = resident.get(TerrainGenerator.chunkKey(slotOf(wx), slotOf(wy)));
+        return (p != null && p.island.containsWorld(wx, wy)) ? p.island : null;
+    }
+
+    @Override
+    public byte getCodeAtWorld(float wx, float wy) {
+        IslandRenderer island = islandAt(wx, wy);
+        return island != null ? island.getCodeAtWorld(wx, wy) : IslandRenderer.CODE_OUTSIDE;
+    }
+
+    @Override
+    public boolean isWaterWorld(float wx, float wy) {
+        return IslandRenderer.isWater(getCodeAtWorld(wx, wy));
+    }
+
+    @Override
+    public IslandRenderer.TerrainType getTerrainAtWorld(float wx, float wy) {
+        return IslandRenderer.typeOf(getCodeAtWorld(wx, wy));
+    }
+
+    @Override
+    public float getCellSize() { return cellWorld; }
+
+    @Override
+    public int getTerrainVersion() { return terrainVersion; }
+
+    @Override
+    public void getCodesInRect(float minX, float minY, int w, int h, byte[] out) {
+        java.util.Arrays.fill(out, 0, w * h, IslandRenderer.CODE_OUTSIDE);
+        for (Page p : resident.values()) {
+            IslandRenderer island = p.island;
+            // island's first column/row, in rect cells (islands sit on the same lattice)
+            int ox = Math.round((island.getWorldMinX() - minX) / cellWorld);
+            int oy = Math.round((island.getWorldMinY() - minY) / cellWorld);
+            int x0 = Math.max(0, ox), x1 = Math.min(w, ox + cols);
+            int y0 = Math.max(0, oy), y1 = Math.min(h, oy + rows);
+            if (x0 >= x1 || y0 >= y1) continue;
+            island.getCellCodes(x0 - ox, y0 - oy, x1 - x0, y1 - y0, out, y0 * w + x0, w);
+        }
+    }
+
+    /** Nearest safe land over the resident islands. */
+    @Override
+    public boolean findNearestLand(float wx, float wy, int maxRadiusCells, Vector2 out) {
+        float best = Float.MAX_VALUE;
+        for (Page p : resident.values()) {
+            if (!p.island.findNearestLand(wx, wy, maxRadiusCells, tmp)) continue;
+            float d2 = tmp.dst2(wx, wy);
+            if (d2 < best) { best = d2; out.set(tmp); }
+        }
+        if (best == Float.MAX_VALUE) {
+            out.set(0f, 0f); // home center
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Vector2 findCenterLandSpawn() {
+        return home().island.findCenterLandSpawn();
+    }
+
+    private Page home() {
+        long key = TerrainGenerator.chunkKey(0, 0);
+        Page p = resident.get(key);
+        if (p != null) return p;
+        AsyncResult<Prepared> job = pending.remove(key);
+        return adopt(job != null ? job.get() : prepare(0, 0));
+    }
+
+    // ---------- Render ----------
+
+    @Override
+    public void render(SpriteBatch batch) {
+        for (Page p : resident.values()) p.island.render(batch);
+    }
+
+    /**
+     * Static trees/rocks of the resident islands, from their per-chunk caches (outside batch begin/end,
+     * after the terrain and before the render queue).
+     */
+    public void renderResources(Camera cam) {
+        viewOf(cam, view);
+        for (Page p : resident.values()) p.resources.render(cam.combined, view.x, view.y, view.x + view.width, view.y + view.height);
+    }
+
+    /**
+     * Nodes that overlap queued sprites, re-queued so they Y-sort with the characters (submit them last).
+     * Runs in a {@link RenderQueue.Builder} on the queue's worker while the GL thread draws the
+     * islands, so it takes a view captured up front and doesn't share the maps' cached iterators.
+     */
+    public void submitResources(RenderQueue queue, Rectangle view) {
+        for (Page p : new LongMap.Values<>(resident)) {
+            p.resources.submit(queue, view.x, view.y, view.x + view.width, view.y + view.height);
+        }
+    }
+
+    /** The camera's visible world rect. */
+    public static Rectangle viewOf(Camera cam, Rectangle out) {
+        float zoom = (cam instanceof OrthographicCamera) ? ((OrthographicCamera)cam).zoom : 1f;
+        float w = cam.viewportWidth * zoom, h = cam.viewportHeight * zoom;
+        return out.set(cam.position.x - w * 0.5f, cam.position.y - h * 0.5f, w, h);
+    }
+
+    // ---------- Stats / tuners ----------
+
+    public int getResidentIslandCount() { return resident.size; }
+    public int getPendingIslandCount() { return pending.size; }
+    public IslandRenderer getHomeIsland() { return home().island; }
+
+    public void setPageInMargin(float m)  { pageInMargin = Math.max(0f, m); }
+    public void setPageOutMargin(float m) { pageOutMargin = Math.max(pageInMargin, m); }
+    public void setMaxPageInsPerUpdate(int n) { maxPageInsPerUpdate = Math.max(1, n); }
+
+    @Override
+    public void dispose() {
+        for (AsyncResult<Prepared> job : pending.values()) job.get().island.dispose();
+        pending.clear();
+        if (pager != null) { pager.dispose(); pager = null; }
+        for (Page p : resident.values()) {
+            p.resources.dispose();
+            p.island.dispose();
+        }
+        resident.clear();
+    }
+}
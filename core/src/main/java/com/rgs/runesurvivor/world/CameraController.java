@@ -6,15 +6,30 @@ import com.rgs.runesurvivor.entities.Player;
 public class CameraController {
     private Camera camera;
     private Player player;
+    private WorldTerrain island; // optional: streams terrain (chunks / islands) around the view
 
     public CameraController(Camera camera, Player player) {
         this.camera = camera;
         this.player = player;
     }
 
+    public void setIsland(WorldTerrain island) { this.island = island; }
+
+    /** Snap to the player's current physics position and stream around it (world must be idle). */
     public void update() {
-        camera.position.set(player.getBody().getPosition().x,
-            player.getBody().getPosition().y, 0);
+        com.badlogic.gdx.math.Vector2 p = player.getPosition();
+        follow(p.x, p.y);
+        stream();
+    }
+
+    /** Center on the player as drawn this frame (interpolated snapshot position). */
+    public void follow(float x, float y) {
+        camera.position.set(x, y, 0);
         camera.update();
     }
+
+    /** Page terrain in/out around the view; creates colliders, so only while the simulation is idle. */
+    public void stream() {
+        if (island != null) island.updateStreaming(camera);
+    }
 }
@@ -2,7 +2,6 @@ package com.rgs.runesurvivor.world;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -12,32 +11,29 @@ public class CoinManager implements Disposable {
 
     public static class Coin {
         public final Vector2 pos = new Vector2();
-        public final Sprite sprite;
         public final int amount;
 
-        Coin(float x, float y, int amount, Sprite s) {
+        Coin(float x, float y, int amount) {
             pos.set(x, y);
-            sprite = s;
-            sprite.setOriginCenter();
-            sprite.setPosition(x - s.getWidth() * 0.5f, y - s.getHeight() * 0.5f);
             this.amount = amount;
         }
     }
 
     private final Array<Coin> coins = new Array<>();
     private final Texture coinTex;
+    private final Sprite drawSprite;         // one sprite, positioned per coin at submit
     private final float coinSize = 36f;      // visible size
     private final float pickupRadius = 10f;  // auto-pickup distance
 
     public CoinManager() {
         coinTex = new Texture("coin1.png");
         coinTex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        drawSprite = new Sprite(coinTex);
+        drawSprite.setSize(coinSize, coinSize);
     }
 
     public void spawn(float x, float y, int amount) {
-        Sprite s = new Sprite(coinTex);
-        s.setSize(coinSize, coinSize);
-        coins.add(new Coin(x, y, amount, s));
+        coins.add(new Coin(x, y, amount));
     }
 
     public void update(float delta, Player player) {
@@ -48,7 +44,7 @@ public class CoinManager implements Disposable {
         float effective = pickupRadius + playerRadius;
         float r2 = effective * effective;
 
-        Vector2 pp = player.getBody().getPosition();
+        Vector2 pp = player.getPosition();
         for (int i = coins.size - 1; i >= 0; i--) {
             Coin c = coins.get(i);
             float dx = c.pos.x - pp.x, dy = c.pos.y - pp.y;
@@ -59,8 +55,24 @@ public class CoinManager implements Disposable {
         }
     }
 
-    public void render(SpriteBatch batch) {
-        for (int i = 0; i < coins.size; i++) coins.get(i).sprite.draw(batch);
+    /** Simulation side: coin positions into the snapshot being filled. */
+    public void capture(RenderSnapshot snap) {
+        snap.ensureCoins(coins.size);
+        for (int i = 0; i < coins.size; i++) {
+            Coin c = coins.get(i);
+            snap.coinX[i] = c.pos.x;
+            snap.coinY[i] = c.pos.y;
+        }
+        snap.coinCount = coins.size;
+    }
+
+    /** Render side: coins from a published snapshot. */
+    public void submit(RenderQueue queue, RenderSnapshot snap) {
+        float half = coinSize * 0.5f;
+        for (int i = 0; i < snap.coinCount; i++) {
+            drawSprite.setPosition(snap.coinX[i] - half, snap.coinY[i] - half);
+            queue.submit(RenderQueue.LAYER_GROUND, snap.coinY[i], drawSprite);
+        }
     }
 
     @Override public void dispose() {
@@ -0,0 +1,122 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactFilter;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Filter;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+
+/**
+ * The world's contact policy, per pair of {@link CollisionLayers}:
+ * <ul>
+ *   <li>the usual Box2D category/mask/group test, and</li>
+ *   <li>enemy-vs-enemy pairs are dropped while more than {@code crowdThreshold} enemies are simulated
+ *       (crowd steering keeps them apart; only the player, nodes and water still block them).</li>
+ * </ul>
+ * Box2D asks when two fixtures' boxes start to overlap, so a change of policy applies to new pairs;
+ * contacts that already exist run until their fixtures separate.
+ * <p>
+ * It also counts, per pair type: pairs let through to the narrowphase, pairs dropped before it, and
+ * contacts touching right now, so the saving can be measured ({@link #getDropped} vs {@link #getPassed}).
+ */
+public class CollisionFilter implements ContactFilter, ContactListener {
+
+    private int crowdThreshold = 200;     // enemies simulated before enemy-enemy contacts are dropped
+    private int activeEnemies;
+
+    // [a * COUNT + b], a <= b
+    private final int[] passed = new int[CollisionLayers.COUNT * CollisionLayers.COUNT];
+    private final int[] dropped = new int[CollisionLayers.COUNT * CollisionLayers.COUNT];
+    private final int[] touching = new int[CollisionLayers.COUNT * CollisionLayers.COUNT];
+
+    private static final int ENEMY_PAIR = pair(CollisionLayers.index(CollisionLayers.ENEMY),
+                                               CollisionLayers.index(CollisionLayers.ENEMY));
+
+    @Override
+    public boolean shouldCollide(Fixture fixtureA, Fixture fixtureB) {
+        Filter a = fixtureA.getFilterData();
+        short catA = a.categoryBits, maskA = a.maskBits, groupA = a.groupIndex;
+        Filter b = fixtureB.getFilterData();
+        short catB = b.categoryBits, maskB = b.maskBits, groupB = b.groupIndex;
+        int key = pair(layer(catA), layer(catB));
+
+        boolean collide;
+        if (groupA == groupB && groupA != 0) collide = groupA > 0;
+        else collide = (maskA & catB) != 0 && (maskB & catA) != 0;
+        if (collide && key == ENEMY_PAIR && activeEnemies > crowdThreshold) collide = false;
+
+        if (collide) passed[key]++;
+        else dropped[key]++;
+        return collide;
+    }
+
+    @Override
+    public void beginContact(Contact contact) {
+        touching[pairOf(contact)]++;
+    }
+
+    @Override
+    public void endContact(Contact contact) {
+        int key = pairOf(contact);
+        if (touching[key] > 0) touching[key]--;
+    }
+
+    @Override public void preSolve(Contact contact, Manifold oldManifold) {}
+    @Override public void postSolve(Contact contact, ContactImpulse impulse) {}
+
+    private static int pairOf(Contact c) {
+        short catA = c.getFixtureA().getFilterData().categoryBits;
+        short catB = c.getFixtureB().getFilterData().categoryBits;
+        return pair(layer(catA), layer(catB));
+    }
+
+    // lowest set bit; fixtures without a named layer (default filter) count as the first one
+    private static int layer(short category) {
+        return category == 0 ? 0 : Math.min(CollisionLayers.COUNT - 1, CollisionLayers.index(category));
+    }
+
+    private static int pair(int a, int b) {
+        return a <= b ? a * CollisionLayers.COUNT + b : b * CollisionLayers.COUNT + a;
+    }
+
+    /** Enemies currently simulated by Box2D (the crowd test compares against this). */
+    public void setActiveEnemies(int n) { activeEnemies = n; }
+    /** Above this many simulated enemies, new enemy-enemy pairs are dropped ({@code Integer.MAX_VALUE} = never). */
+    public void setCrowdThreshold(int n) { crowdThreshold = Math.max(0, n); }
+    public int getCrowdThreshold() { return crowdThreshold; }
+    public boolean isCrowded() { return activeEnemies > crowdThreshold; }
+
+    /** Pairs of layers a/b (category bits) sent to the narrowphase since the last reset. */
+    public int getPassed(short a, short b) { return passed[key(a, b)]; }
+    /** Pairs of layers a/b filtered out (mask or crowd policy) since the last reset. */
+    public int getDropped(short a, short b) { return dropped[key(a, b)]; }
+    /** Contacts of layers a/b touching now. */
+    public int getTouching(short a, short b) { return touching[key(a, b)]; }
+
+    public void resetCounts() {
+        java.util.Arrays.fill(passed, 0);
+        java.util.Arrays.fill(dropped, 0);
+    }
+
+    /** One line per pair type with any activity: passed / dropped / touching. */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (int a = 0; a < CollisionLayers.COUNT; a++) {
+            for (int b = a; b < CollisionLayers.COUNT; b++) {
+                int k = a * CollisionLayers.COUNT + b;
+                if (passed[k] == 0 && dropped[k] == 0 && touching[k] == 0) continue;
+                sb.append(CollisionLayers.name(a)).append('-').append(CollisionLayers.name(b))
+                  .append(": passed ").append(passed[k])
+                  .append(", dropped ").append(dropped[k])
+                  .append(", touching ").append(touching[k]).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int key(short a, short b) {
+        return pair(layer(a), layer(b));
+    }
+}
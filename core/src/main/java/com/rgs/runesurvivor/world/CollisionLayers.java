@@ -0,0 +1,54 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.physics.box2d.Filter;
+
+/**
+ * Named Box2D collision categories and which of them each one collides with. Every fixture the game
+ * creates goes through {@link #apply}, so Box2D never builds a contact for a pair that can't matter
+ * (e.g. trees vs water edges, projectiles vs water). Two fixtures collide only if each one's mask
+ * has the other's category. Masks may be changed with {@link #setMask} before the bodies are made.
+ */
+public final class CollisionLayers {
+
+    public static final short PLAYER      = 0x0001;
+    public static final short ENEMY       = 0x0002;
+    public static final short STATIC_NODE = 0x0004;   // trees, rocks
+    public static final short WATER_EDGE  = 0x0008;   // coastline chains
+    public static final short SENSOR      = 0x0010;   // pickups / triggers
+    public static final short PROJECTILE  = 0x0020;
+
+    public static final int COUNT = 6;
+    private static final String[] NAMES = { "player", "enemy", "node", "water", "sensor", "projectile" };
+
+    private static final short[] masks = new short[COUNT];
+    static {
+        masks[index(PLAYER)]      = ENEMY | STATIC_NODE | WATER_EDGE | SENSOR | PROJECTILE;
+        masks[index(ENEMY)]       = PLAYER | ENEMY | STATIC_NODE | WATER_EDGE | SENSOR | PROJECTILE;
+        masks[index(STATIC_NODE)] = PLAYER | ENEMY | PROJECTILE;
+        masks[index(WATER_EDGE)]  = PLAYER | ENEMY;                  // projectiles fly over water
+        masks[index(SENSOR)]      = PLAYER | ENEMY;
+        masks[index(PROJECTILE)]  = PLAYER | ENEMY | STATIC_NODE;
+    }
+
+    private CollisionLayers() {}
+
+    /** 0..COUNT-1 for a single category bit. */
+    public static int index(short category) {
+        return Integer.numberOfTrailingZeros(category & 0xFFFF);
+    }
+
+    public static String name(int index) { return NAMES[index]; }
+
+    public static short getMask(short category) { return masks[index(category)]; }
+
+    /** What {@code category} collides with (applies to fixtures created afterwards). */
+    public static void setMask(short category, short mask) { masks[index(category)] = mask; }
+
+    /** Category + its mask into a fixture's filter; returns the filter. */
+    public static Filter apply(Filter filter, short category) {
+        filter.categoryBits = category;
+        filter.maskBits = masks[index(category)];
+        filter.groupIndex = 0;
+        return filter;
+    }
+}
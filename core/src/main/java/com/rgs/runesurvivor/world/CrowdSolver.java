@@ -0,0 +1,308 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
+import com.rgs.runesurvivor.entities.Enemy;
+
+import java.util.Arrays;
+
+/**
+ * Enemy physics without Box2D: the on-screen ({@link EnemyStore#TIER_FULL}) enemies as equal circles
+ * on the store's arrays. One {@link #step} does what the enemy bodies needed from Box2D:
+ * <ol>
+ *   <li>integrate the steering decided by the AI (same force / speed cap / damping rules as the bodies),</li>
+ *   <li>bucket the crowd in a uniform grid (cell = one diameter, so contacts are in the 3x3 around a cell),</li>
+ *   <li>push overlapping pairs apart (positional correction, a few Gauss-Seidel passes), then out of
+ *       static circles (trees/rocks) and the player,</li>
+ *   <li>never move a circle's leading edge into water (terrain grid lookups instead of water colliders),</li>
+ *   <li>velocity = distance actually moved / dt.</li>
+ * </ol>
+ * The player and the static world stay in Box2D; enemies yield to the player but don't push it.
+ * Static circles are read from the Box2D world with one AABB query every so often, not per enemy.
+ */
+public class CrowdSolver {
+
+    private final World world;          // static circles come from here (null = none)
+    private final WorldTerrain terrain; // water (null = all land)
+
+    private float radius = Enemy.SIZE / 2f;
+    private int iterations = 2;                  // correction passes per step
+    private float staticRefresh = 0.25f;         // seconds between static-circle queries
+    private float staticMargin = 400f;           // queried beyond the crowd's bounds
+
+    // ---- crowd grid (counting sort over the active enemies, like EnemyGrid) ----
+    private final IntArray active = new IntArray(false, 256);   // store indices in the solve
+    private int mask;
+    private int[] start = new int[1], items = new int[16], cellX = new int[16], cellY = new int[16];
+
+    // ---- static circles (x, y, r) and their grid (each listed in every cell it can touch) ----
+    private float[] sx = new float[64], sy = new float[64], sr = new float[64];
+    private int staticCount;
+    private float staticCell = 128f;
+    private int staticMask;
+    private int[] staticStart = new int[1], staticItems = new int[64];
+    private final IntArray staticKeys = new IntArray(), staticRefs = new IntArray();
+    private float staticTimer = Float.MAX_VALUE;
+    private float qMinX, qMinY, qMaxX, qMaxY = -1f;   // area of the last static query
+    private final QueryCallback staticQuery = this::collectStatic;
+
+    // stats (last step)
+    private int pairTests, contacts, waterBlocks;
+    private long nanos;
+
+    public CrowdSolver(World world, WorldTerrain terrain) {
+        this.world = world;
+        this.terrain = terrain;
+    }
+
+    /**
+     * One fixed step for every full-tier enemy.
+     * @param playerR player circle radius (0 = no player push)
+     */
+    public void step(EnemyStore s, float dt, float playerX, float playerY, float playerR) {
+        long t0 = System.nanoTime();
+        pairTests = contacts = waterBlocks = 0;
+
+        // ---- 1) integrate (steer as force per unit mass, cap before the step, damping like Box2D's) ----
+        active.clear();
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < s.size; i++) {
+            if (s.tier[i] != EnemyStore.TIER_FULL) continue;
+            active.add(i);
+            float vx = s.vx[i], vy = s.vy[i];
+            float damping;
+            if (s.atkState[i] == EnemyStore.ATK_IDLE) {
+                float max = s.steerChase[i] ? Enemy.CHASE_SPEED : Enemy.MAX_SPEED;
+                float v2 = vx * vx + vy * vy;
+                if (v2 > max * max) {
+                    float k = max / (float)Math.sqrt(v2);
+                    vx *= k; vy *= k;
+                }
+                if (v2 > 0.001f * 0.001f) s.facing[i] = MathUtils.atan2(vy, vx);
+                vx += s.steerX[i] * dt;
+                vy += s.steerY[i] * dt;
+                damping = Enemy.DAMPING;
+            } else {
+                damping = Enemy.ATTACK_DAMPING; // don't slide much while attacking
+            }
+            float d = 1f / (1f + dt * damping);
+            vx *= d; vy *= d;
+
+            s.prevX[i] = s.x[i]; s.prevY[i] = s.y[i];
+            moveTo(s, i, s.x[i] + vx * dt, s.y[i] + vy * dt);
+
+            float x = s.x[i], y = s.y[i];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        int n = active.size;
+        if (n == 0) { nanos = System.nanoTime() - t0; return; }
+
+        // ---- 2) broadphase ----
+        rebuildGrid(s);
+        staticTimer += dt;
+        if (world != null && (staticTimer >= staticRefresh
+            || minX < qMinX || minY < qMinY || maxX > qMaxX || maxY > qMaxY)) {
+            refreshStatics(minX - staticMargin, minY - staticMargin, maxX + staticMargin, maxY + staticMargin);
+        }
+
+        // ---- 3) positional correction ----
+        float diam = radius * 2f, diam2 = diam * diam;
+        for (int it = 0; it < iterations; it++) {
+            for (int a = 0; a < n; a++) {
+                int i = active.items[a];
+                int cx = cellX[a], cy = cellY[a];
+                // enemy vs enemy: each pair once (j after i in the active order)
+                for (int oy = -1; oy <= 1; oy++) {
+                    for (int ox = -1; ox <= 1; ox++) {
+                        int b = bucket(cx + ox, cy + oy);
+                        for (int k = start[b], end = start[b + 1]; k < end; k++) {
+                            int c = items[k];
+                            if (c <= a || cellX[c] != cx + ox || cellY[c] != cy + oy) continue;
+                            int j = active.items[c];
+                            pairTests++;
+                            float dx = s.x[j] - s.x[i], dy = s.y[j] - s.y[i];
+                            float d2 = dx * dx + dy * dy;
+                            if (d2 >= diam2) continue;
+                            contacts++;
+                            float dist = (float)Math.sqrt(d2);
+                            float nx, ny;
+                            if (dist > 1e-4f) { nx = dx / dist; ny = dy / dist; }
+                            else { nx = 1f; ny = 0f; dist = 0f; }  // stacked exactly: split along x
+                            float push = (diam - dist) * 0.5f;
+                            moveTo(s, i, s.x[i] - nx * push, s.y[i] - ny * push);
+                            moveTo(s, j, s.x[j] + nx * push, s.y[j] + ny * push);
+                        }
+                    }
+                }
+
+                // enemy vs static circles / player: the enemy takes the whole correction
+                if (staticCount > 0) {
+                    int b = staticBucket(MathUtils.floor(s.x[i] / staticCell), MathUtils.floor(s.y[i] / staticCell));
+                    for (int k = staticStart[b], end = staticStart[b + 1]; k < end; k++) {
+                        int o = staticItems[k];
+                        pushOut(s, i, sx[o], sy[o], sr[o] + radius);
+                    }
+                }
+                if (playerR > 0f) pushOut(s, i, playerX, playerY, playerR + radius);
+            }
+            // cells follow the corrections, so later passes see the new neighbours
+            if (it + 1 < iterations) rebuildGrid(s);
+        }
+
+        // ---- 4) velocity from what actually happened ----
+        float inv = 1f / dt;
+        for (int a = 0; a < n; a++) {
+            int i = active.items[a];
+            s.vx[i] = (s.x[i] - s.prevX[i]) * inv;
+            s.vy[i] = (s.y[i] - s.prevY[i]) * inv;
+        }
+        nanos = System.nanoTime() - t0;
+    }
+
+    private void pushOut(EnemyStore s, int i, float ox, float oy, float minDist) {
+        float dx = s.x[i] - ox, dy = s.y[i] - oy;
+        float d2 = dx * dx + dy * dy;
+        if (d2 >= minDist * minDist) return;
+        contacts++;
+        float dist = (float)Math.sqrt(d2);
+        if (dist < 1e-4f) { dx = 1f; dy = 0f; dist = 0f; }  // dead center: out along x
+        else { dx /= dist; dy /= dist; }
+        float push = minDist - dist;
+        moveTo(s, i, s.x[i] + dx * push, s.y[i] + dy * push);
+    }
+
+    // Move enemy i toward (nx,ny), per axis, keeping its leading edge out of water (slides along shores)
+    private void moveTo(EnemyStore s, int i, float nx, float ny) {
+        float x = s.x[i], y = s.y[i];
+        if (terrain == null) { s.x[i] = nx; s.y[i] = ny; return; }
+        float dx = nx - x, dy = ny - y;
+        if (dx != 0f) {
+            if (!terrain.isWaterWorld(nx + Math.signum(dx) * radius, y)) x = nx;
+            else waterBlocks++;
+        }
+        if (dy != 0f) {
+            if (!terrain.isWaterWorld(x, ny + Math.signum(dy) * radius)) y = ny;
+            else waterBlocks++;
+        }
+        s.x[i] = x; s.y[i] = y;
+    }
+
+    // ---------- crowd grid ----------
+
+    private void rebuildGrid(EnemyStore s) {
+        int n = active.size;
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(256, n * 2));
+        if (start.length < buckets + 1) start = new int[buckets + 1];
+        mask = buckets - 1;
+        if (items.length < n) {
+            int cap = Math.max(n, items.length * 2);
+            items = new int[cap]; cellX = new int[cap]; cellY = new int[cap];
+        }
+        float cell = radius * 2f;
+        Arrays.fill(start, 0, buckets + 1, 0);
+        for (int a = 0; a < n; a++) {
+            int i = active.items[a];
+            int cx = MathUtils.floor(s.x[i] / cell), cy = MathUtils.floor(s.y[i] / cell);
+            cellX[a] = cx;
+            cellY[a] = cy;
+            start[bucket(cx, cy) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) start[b + 1] += start[b];
+        for (int a = 0; a < n; a++) items[start[bucket(cellX[a], cellY[a])]++] = a;
+        for (int b = buckets; b > 0; b--) start[b] = start[b - 1];
+        start[0] = 0;
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & mask;
+    }
+
+    // ---------- static circles ----------
+
+    private void refreshStatics(float minX, float minY, float maxX, float maxY) {
+        staticTimer = 0f;
+        qMinX = minX; qMinY = minY; qMaxX = maxX; qMaxY = maxY;
+        staticCount = 0;
+        world.QueryAABB(staticQuery, PhysicsScale.toMeters(minX), PhysicsScale.toMeters(minY),
+            PhysicsScale.toMeters(maxX), PhysicsScale.toMeters(maxY));
+
+        // each circle goes in every static cell its (r + enemy radius) box touches
+        staticKeys.clear();
+        staticRefs.clear();
+        for (int o = 0; o < staticCount; o++) {
+            float reach = sr[o] + radius;
+            int cx0 = MathUtils.floor((sx[o] - reach) / staticCell), cx1 = MathUtils.floor((sx[o] + reach) / staticCell);
+            int cy0 = MathUtils.floor((sy[o] - reach) / staticCell), cy1 = MathUtils.floor((sy[o] + reach) / staticCell);
+            for (int cy = cy0; cy <= cy1; cy++) {
+                for (int cx = cx0; cx <= cx1; cx++) {
+                    staticKeys.add(cx); staticKeys.add(cy);
+                    staticRefs.add(o);
+                }
+            }
+        }
+        int m = staticRefs.size;
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(64, m * 2));
+        if (staticStart.length < buckets + 1) staticStart = new int[buckets + 1];
+        staticMask = buckets - 1;
+        if (staticItems.length < m) staticItems = new int[Math.max(m, staticItems.length * 2)];
+        Arrays.fill(staticStart, 0, buckets + 1, 0);
+        for (int e = 0; e < m; e++) staticStart[staticBucket(staticKeys.items[2 * e], staticKeys.items[2 * e + 1]) + 1]++;
+        for (int b = 0; b < buckets; b++) staticStart[b + 1] += staticStart[b];
+        for (int e = 0; e < m; e++) {
+            int b = staticBucket(staticKeys.items[2 * e], staticKeys.items[2 * e + 1]);
+            staticItems[staticStart[b]++] = staticRefs.items[e];
+        }
+        for (int b = buckets; b > 0; b--) staticStart[b] = staticStart[b - 1];
+        staticStart[0] = 0;
+    }
+
+    // Static-node circles only (water edges come from the terrain grid instead).
+    // A bucket may hold circles of a colliding cell too; the distance test makes that harmless.
+    private boolean collectStatic(Fixture f) {
+        Body b = f.getBody();
+        if (b.getType() != BodyDef.BodyType.StaticBody || f.isSensor()
+            || (f.getFilterData().categoryBits & CollisionLayers.STATIC_NODE) == 0) return true;
+        Shape shape = f.getShape();
+        if (shape.getType() != Shape.Type.Circle) return true;
+        if (staticCount == sx.length) {
+            int cap = staticCount * 2;
+            sx = Arrays.copyOf(sx, cap); sy = Arrays.copyOf(sy, cap); sr = Arrays.copyOf(sr, cap);
+        }
+        // circle fixtures here sit on their body's origin (see ResourceManager); meters -> px
+        sx[staticCount] = PhysicsScale.toPixels(b.getPosition().x);
+        sy[staticCount] = PhysicsScale.toPixels(b.getPosition().y);
+        sr[staticCount] = PhysicsScale.toPixels(shape.getRadius());
+        staticCount++;
+        return true;
+    }
+
+    private int staticBucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & staticMask;
+    }
+
+    /** Forget the cached static circles (e.g. after islands paged in/out or nodes were removed). */
+    public void invalidateStatics() { staticTimer = Float.MAX_VALUE; }
+
+    public int getActiveCount() { return active.size; }
+    public int getStaticCount() { return staticCount; }
+    public int getPairTests() { return pairTests; }
+    public int getContacts() { return contacts; }
+    public int getWaterBlocks() { return waterBlocks; }
+    public long getLastNanos() { return nanos; }
+
+    public void setIterations(int n) { iterations = Math.max(1, n); }
+    public void setStaticRefresh(float seconds, float margin) {
+        staticRefresh = Math.max(0f, seconds);
+        staticMargin = Math.max(0f, margin);
+        invalidateStatics();
+    }
+}
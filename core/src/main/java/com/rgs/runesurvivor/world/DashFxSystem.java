@@ -2,7 +2,7 @@ package com.rgs.runesurvivor.world;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
@@ -56,6 +56,7 @@ public class DashFxSystem {
     }
 
     private final Array<Ghost> ghosts = new Array<>();
+    private Sprite ghostSprite; // scratch: the queue copies its vertices on submit
     private final Array<Wave> waves = new Array<>();
 
     // API
@@ -72,24 +73,22 @@ public class DashFxSystem {
         for (int i = waves.size - 1; i >= 0; i--) if (waves.get(i).update(dt)) waves.removeIndex(i);
     }
 
-    // Draw ghosts with the player's texture (no extra textures needed)
-    public void renderGhosts(SpriteBatch batch, Texture playerTexture) {
+    // Queue ghosts with the player's texture (no extra textures needed), just behind the player
+    // (render queue worker; the ghosts only change on the GL thread before the queue is built)
+    public void submitGhosts(RenderQueue queue, Texture playerTexture) {
         if (playerTexture == null) return;
-        for (Ghost g : ghosts) {
-            batch.setColor(1f, 1f, 1f, g.alpha());
-            // draw centered; use negative scaleX to flip
+        if (ghostSprite == null || ghostSprite.getTexture() != playerTexture) ghostSprite = new Sprite(playerTexture);
+        for (int i = 0; i < ghosts.size; i++) {
+            Ghost g = ghosts.get(i);
+            // centered; use negative scaleX to flip
             float originX = g.w * 0.5f, originY = g.h * 0.5f;
-            float scaleX = g.flipX ? -1f : 1f;
-            batch.draw(playerTexture,
-                g.cx - originX, g.cy - originY,
-                originX, originY,
-                g.w, g.h,
-                scaleX, 1f,
-                g.rotation,
-                0, 0, playerTexture.getWidth(), playerTexture.getHeight(),
-                false, false);
+            ghostSprite.setBounds(g.cx - originX, g.cy - originY, g.w, g.h);
+            ghostSprite.setOrigin(originX, originY);
+            ghostSprite.setScale(g.flipX ? -1f : 1f, 1f);
+            ghostSprite.setRotation(g.rotation);
+            ghostSprite.setColor(1f, 1f, 1f, g.alpha());
+            queue.submit(RenderQueue.LAYER_WORLD, g.cy + RenderQueue.Y_BAND, ghostSprite);
         }
-        batch.setColor(1f, 1f, 1f, 1f);
     }
 
     // Draw shockwave rings
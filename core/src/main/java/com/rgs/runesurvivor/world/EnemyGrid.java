@@ -0,0 +1,91 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Uniform spatial hash over the {@link EnemyStore}, rebuilt once per tick with a counting sort:
+ * (cell -> bucket) counts, prefix sums, then enemy indices laid out bucket by bucket. No per-enemy
+ * objects, and a rebuild is two linear passes. Queries return store indices, valid until the next
+ * removal from the store.
+ */
+public class EnemyGrid {
+
+    private final float cellSize;
+    private int mask;                    // bucket count - 1 (power of two)
+    private int[] start = new int[1];    // bucket -> first slot in items (size mask + 2)
+    private int[] items = new int[16];   // enemy indices grouped by bucket
+    private int[] cellX = new int[16], cellY = new int[16];  // per enemy, to drop hash collisions
+    private int count;
+
+    public EnemyGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public float getCellSize() { return cellSize; }
+
+    /** Re-bucket every enemy at its current (x,y). */
+    public void rebuild(EnemyStore s) {
+        int n = s.size;
+        count = n;
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(256, n * 2));
+        if (start.length < buckets + 1) start = new int[buckets + 1];
+        mask = buckets - 1;
+        if (items.length < n) {
+            int cap = Math.max(n, items.length * 2);
+            items = new int[cap];
+            cellX = new int[cap];
+            cellY = new int[cap];
+        }
+
+        // ---- 1) count per bucket (start[b + 1]) ----
+        java.util.Arrays.fill(start, 0, buckets + 1, 0);
+        for (int i = 0; i < n; i++) {
+            int cx = MathUtils.floor(s.x[i] / cellSize), cy = MathUtils.floor(s.y[i] / cellSize);
+            cellX[i] = cx;
+            cellY[i] = cy;
+            start[bucket(cx, cy) + 1]++;
+        }
+        // ---- 2) prefix sums ----
+        for (int b = 0; b < buckets; b++) start[b + 1] += start[b];
+        // ---- 3) scatter (start[b] walks forward, then gets restored) ----
+        for (int i = 0; i < n; i++) {
+            int b = bucket(cellX[i], cellY[i]);
+            items[start[b]++] = i;
+        }
+        for (int b = buckets; b > 0; b--) start[b] = start[b - 1];
+        start[0] = 0;
+    }
+
+    /** Indices of enemies whose position is in a cell touching the rect (callers do the exact test). */
+    public void query(float minX, float minY, float maxX, float maxY, IntArray out) {
+        out.clear();
+        if (count == 0) return;
+        int cx0 = MathUtils.floor(minX / cellSize), cx1 = MathUtils.floor(maxX / cellSize);
+        int cy0 = MathUtils.floor(minY / cellSize), cy1 = MathUtils.floor(maxY / cellSize);
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int b = bucket(cx, cy);
+                for (int k = start[b], end = start[b + 1]; k < end; k++) {
+                    int i = items[k];
+                    if (cellX[i] == cx && cellY[i] == cy) out.add(i);
+                }
+            }
+        }
+    }
+
+    /** Indices within {@code radius} of (x,y). */
+    public void queryRadius(EnemyStore s, float x, float y, float radius, IntArray out) {
+        query(x - radius, y - radius, x + radius, y + radius, out);
+        float r2 = radius * radius;
+        for (int k = out.size - 1; k >= 0; k--) {
+            int i = out.items[k];
+            if (Vector2.dst2(x, y, s.x[i], s.y[i]) > r2) out.items[k] = out.items[--out.size];
+        }
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & mask;
+    }
+}
@@ -0,0 +1,140 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.rgs.runesurvivor.ai.FlowField;
+import com.rgs.runesurvivor.entities.Enemy;
+
+/**
+ * Simulation level of detail for enemies, by distance from the camera:
+ * <ul>
+ *   <li>{@link EnemyStore#TIER_FULL} inside the view (plus a margin): Box2D body, full AI.</li>
+ *   <li>{@link EnemyStore#TIER_NEAR} up to {@code nearRadiusMult} view half-diagonals: body parked,
+ *       moved kinematically along the flow field a few times per second.</li>
+ *   <li>{@link EnemyStore#TIER_FAR} beyond that (until despawn): frozen record, body back in the pool.</li>
+ * </ul>
+ * Tier changes write the arrays back into the body (or fetch one), so an enemy resumes where it was.
+ */
+public class EnemyLod {
+
+    public static final int TIERS = 3;
+
+    private float fullMargin     = 100f;   // world units beyond the view edge still simulated fully
+    private float nearRadiusMult = 2.2f;   // x view half-diagonal (covers the spawn ring)
+    private float nearInterval   = 0.1f;   // seconds between kinematic updates
+
+    // stats (last update)
+    private final int[] tierCount = new int[TIERS];
+    private final long[] tierNanos = new long[TIERS];
+    private int promotions, demotions;
+
+    private final Vector2 flowTmp = new Vector2();
+
+    /**
+     * Re-tier every enemy against the view rect around (camX, camY).
+     * @param pool null when enemies have no bodies ({@link CrowdSolver}): only the arrays change tier
+     */
+    public void classify(EnemyStore s, EnemyPool pool, float camX, float camY,
+                         float viewWidth, float viewHeight) {
+        float hw = viewWidth * 0.5f + fullMargin, hh = viewHeight * 0.5f + fullMargin;
+        float halfDiag = 0.5f * (float)Math.sqrt(viewWidth * viewWidth + viewHeight * viewHeight);
+        float nearR = halfDiag * nearRadiusMult;
+        float nearR2 = nearR * nearR;
+        promotions = demotions = 0;
+        tierCount[0] = tierCount[1] = tierCount[2] = 0;
+
+        for (int i = 0; i < s.size; i++) {
+            float dx = s.x[i] - camX, dy = s.y[i] - camY;
+            byte want;
+            if (Math.abs(dx) <= hw && Math.abs(dy) <= hh) want = EnemyStore.TIER_FULL;
+            else if (dx * dx + dy * dy <= nearR2) want = EnemyStore.TIER_NEAR;
+            else want = EnemyStore.TIER_FAR;
+            tierCount[want]++;
+
+            byte was = s.tier[i];
+            if (want == was) continue;
+            if (want < was) promotions++; else demotions++;
+            s.tier[i] = want;
+
+            Body b = s.body[i];
+            if (want == EnemyStore.TIER_FAR) {
+                // frozen: the record keeps position/hp/timers, the body goes back to the pool
+                if (b != null) pool.free(b);
+                s.body[i] = null;
+                s.vx[i] = s.vy[i] = 0f;
+                continue;
+            }
+            if (b == null && pool != null) b = s.body[i] = pool.obtain(s.x[i], s.y[i], false);
+
+            if (want == EnemyStore.TIER_NEAR) {
+                // leaving the screen: park the body; an attack can't reach the player from here
+                if (b != null) b.setActive(false);
+                if (s.atkState[i] == EnemyStore.ATK_WINDUP || s.atkState[i] == EnemyStore.ATK_STRIKE) {
+                    s.atkState[i] = EnemyStore.ATK_COOLDOWN;
+                    s.atkTimer[i] = 0f;
+                }
+                s.lodTimer[i] = MathUtils.random(nearInterval); // spread the updates over frames
+            } else {
+                // on screen: the body picks up from the record, AI decides afresh
+                s.clearThink(i);
+                s.snapPrevious(i);
+                if (b == null) continue;
+                b.setTransform(PhysicsScale.toMeters(s.x[i]), PhysicsScale.toMeters(s.y[i]), s.facing[i]);
+                b.setLinearVelocity(PhysicsScale.toMeters(s.vx[i]), PhysicsScale.toMeters(s.vy[i]));
+                b.setAngularVelocity(0f);
+                b.setLinearDamping(s.atkState[i] == EnemyStore.ATK_IDLE ? Enemy.DAMPING : Enemy.ATTACK_DAMPING);
+                b.setActive(true);
+                b.setAwake(true);
+            }
+        }
+    }
+
+    /** Reduced-rate kinematic moves for {@link EnemyStore#TIER_NEAR}: follow the flow at chase speed. */
+    public void updateNear(EnemyStore s, float delta, float playerX, float playerY, FlowField flow) {
+        long t0 = System.nanoTime();
+        float chase2 = Enemy.CHASE_RANGE * Enemy.CHASE_RANGE;
+
+        for (int i = 0; i < s.size; i++) {
+            if (s.tier[i] != EnemyStore.TIER_NEAR) continue;
+            float dt = s.lodTimer[i] + delta;
+            if (dt < nearInterval) { s.lodTimer[i] = dt; continue; }
+            s.lodTimer[i] = 0f;
+
+            // cooldowns still run out, so a returning enemy isn't stuck mid-recovery
+            if (s.atkState[i] == EnemyStore.ATK_COOLDOWN) {
+                s.atkTimer[i] += dt;
+                if (s.atkTimer[i] >= Enemy.ATK_COOLDOWN_TIME) {
+                    s.atkState[i] = EnemyStore.ATK_IDLE;
+                    s.atkTimer[i] = 0f;
+                }
+            }
+
+            float dx = s.x[i] - playerX, dy = s.y[i] - playerY;
+            if (flow != null && dx * dx + dy * dy < chase2 && flow.sample(s.x[i], s.y[i], flowTmp)) {
+                s.vx[i] = flowTmp.x * Enemy.CHASE_SPEED;
+                s.vy[i] = flowTmp.y * Enemy.CHASE_SPEED;
+                s.x[i] += s.vx[i] * dt;
+                s.y[i] += s.vy[i] * dt;
+                if (s.vx[i] != 0f || s.vy[i] != 0f) s.facing[i] = MathUtils.atan2(s.vy[i], s.vx[i]);
+            } else {
+                // no path: stand still (wander isn't worth simulating off screen)
+                s.vx[i] = s.vy[i] = 0f;
+            }
+        }
+        tierNanos[EnemyStore.TIER_NEAR] = System.nanoTime() - t0;
+    }
+
+    /** Record the cost of the full-tier passes (timed by the caller). */
+    void setFullNanos(long nanos) { tierNanos[EnemyStore.TIER_FULL] = nanos; }
+
+    public int getTierCount(int tier) { return tierCount[tier]; }
+    /** Nanoseconds spent on a tier's passes last update (TIER_FAR is always 0: nothing runs). */
+    public long getTierNanos(int tier) { return tierNanos[tier]; }
+    public int getPromotions() { return promotions; }
+    public int getDemotions() { return demotions; }
+
+    public void setFullMargin(float m) { fullMargin = Math.max(0f, m); }
+    public void setNearRadiusMultiplier(float m) { nearRadiusMult = Math.max(0.5f, m); }
+    public void setNearInterval(float s) { nearInterval = Math.max(1f / 120f, s); }
+}
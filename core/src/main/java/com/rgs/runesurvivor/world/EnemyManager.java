@@ -3,18 +3,30 @@ package com.rgs.runesurvivor.world;
 import com.badlogic.gdx.ai.GdxAI;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.rgs.runesurvivor.entities.Enemy;
 
 public class EnemyManager {
     private final WorldManager worldManager;
-    private final IslandRenderer island; // <-- water checks
-    private final Array<Enemy> enemies = new Array<>();
-    private float spawnTimer = 0f;
-
-    private int   maxEnemies        = 10;
-    private float spawnInterval     = 1.0f;  // seconds
-    private float minPlayerDistance = 150f;
+    private final WorldTerrain island; // <-- water checks (one island or the archipelago)
+    private final EnemyStore enemies = new EnemyStore(64);
+    private final EnemyPool pool;
+    private final EnemyGrid grid = new EnemyGrid(128f);     // rebuilt every tick, for area queries
+    private final EnemyLod lod = new EnemyLod();
+    // AI decide phase runs on these lanes (one steering/attack scratch per lane); apply stays on this thread
+    private final com.rgs.runesurvivor.ai.WorkerPool workers =
+        new com.rgs.runesurvivor.ai.WorkerPool(com.rgs.runesurvivor.ai.WorkerPool.defaultLanes(8), "EnemyAI");
+    private final com.rgs.runesurvivor.ai.EnemySteering[] steering = createSteering(workers.getLanes());
+    private final com.rgs.runesurvivor.ai.AiScheduler scheduler = new com.rgs.runesurvivor.ai.AiScheduler(workers, steering);
+    private final Enemy.AttackPass attackPass = new Enemy.AttackPass(workers.getLanes());
+    private final com.rgs.runesurvivor.ai.FlowField flowField; // toward the player, shared by all enemies
+    private final SpawnDirector director; // budgets, waves and the per-frame spawn cap
+    private final CrowdSolver crowd;      // pure-Java enemy physics (when enabled)
+    private boolean useCrowdSolver = false;
+
+    // Pool: parked enemies created up front / kept at most
+    private static final int POOL_WARM_UP    = 10;
+    private static final int POOL_HIGH_WATER = 64;
 
     // Dynamic radii (multipliers of the view half-diagonal)
     private float spawnRadiusMult   = 2.0f;  // where new enemies appear
@@ -24,9 +36,14 @@ public class EnemyManager {
     public void setCoinManager(com.rgs.runesurvivor.world.CoinManager cm) { this.coinManager = cm; }
 
 
-    public EnemyManager(WorldManager worldManager, IslandRenderer island) {
+    public EnemyManager(WorldManager worldManager, WorldTerrain island) {
         this.worldManager = worldManager;
         this.island = island;
+        this.flowField = island != null ? new com.rgs.runesurvivor.ai.FlowField(island, 96) : null;
+        this.pool = new EnemyPool(worldManager, POOL_WARM_UP, POOL_HIGH_WATER);
+        this.director = new SpawnDirector(island);
+        this.crowd = new CrowdSolver(worldManager.getWorld(), island);
+        Enemy.loadSharedTexture(); // drawn from the render queue's worker, which can't load it
     }
 
     /**
@@ -38,117 +55,146 @@ public class EnemyManager {
     public void update(float delta, Vector2 cameraCenter, Vector2 playerPos,
                        float viewWidth, float viewHeight,
                        com.rgs.runesurvivor.entities.Player player,
-                       com.rgs.runesurvivor.world.HitMarkerSystem hits) {
+                       HitMarkerSink hits) {
 
         GdxAI.getTimepiece().update(delta);
 
+        // one integration pass when the player changes cell; enemies just sample it
+        if (flowField != null) flowField.update(playerPos.x, playerPos.y);
+
         float halfDiag = 0.5f * (float) Math.sqrt(viewWidth * viewWidth + viewHeight * viewHeight);
         float spawnR   = halfDiag * spawnRadiusMult;
         float despawnR = halfDiag * despawnRadiusMult;
         float despawnR2 = despawnR * despawnR;
 
-        spawnTimer += delta;
-        if (enemies.size < maxEnemies && spawnTimer >= spawnInterval) {
-            spawnTimer = 0f;
-            Vector2 pos = chooseValidSpawn(cameraCenter, playerPos, spawnR);
-            enemies.add(new Enemy(worldManager, pos.x, pos.y));
-        }
+        EnemyPool bodies = useCrowdSolver ? null : pool; // crowd-solved enemies have no bodies
+        director.update(delta, enemies, bodies, cameraCenter, playerPos, spawnR);
 
+        // ---- 1) despawn far / dead ones (swap-remove, so walk backwards) ----
+        enemies.syncFromBodies();
+        float cx = cameraCenter.x, cy = cameraCenter.y;
         for (int i = enemies.size - 1; i >= 0; i--) {
-            Enemy e = enemies.get(i);
-
-            // Despawn if far
-            Vector2 ep = e.getPosition();
-            float dx = ep.x - cameraCenter.x, dy = ep.y - cameraCenter.y;
+            float dx = enemies.x[i] - cx, dy = enemies.y[i] - cy;
             if (dx*dx + dy*dy > despawnR2) {
-                e.dispose(worldManager);
-                enemies.removeIndex(i);
-                continue;
-            }
-
-            e.update(delta, player, hits);
-            if (e.isDead()) {
+                release(enemies.remove(i));
+            } else if (enemies.isDead(i)) {
                 // 30% drop chance
-                if (coinManager != null && com.badlogic.gdx.math.MathUtils.randomBoolean(0.30f)) {
-                    ep = e.getPosition();
-                    coinManager.spawn(ep.x, ep.y, 1);
+                if (coinManager != null && MathUtils.randomBoolean(0.30f)) {
+                    coinManager.spawn(enemies.x[i], enemies.y[i], 1);
                 }
-                e.dispose(worldManager);
-                enemies.removeIndex(i);
+                release(enemies.remove(i));
             }
         }
-    }
 
-    public void render(com.badlogic.gdx.graphics.g2d.SpriteBatch batch) {
-        for (Enemy e : enemies) e.render(batch);
+        // ---- 2) LOD tiers (parks / fetches bodies as enemies cross the thresholds) ----
+        lod.classify(enemies, bodies, cx, cy, viewWidth, viewHeight);
+        // enemy-enemy contacts are dropped past the crowd threshold (Box2D mode only has them)
+        worldManager.getCollisionFilter().setActiveEnemies(
+            useCrowdSolver ? 0 : lod.getTierCount(EnemyStore.TIER_FULL));
+        grid.rebuild(enemies);
+
+        // ---- 3) array passes: full AI on screen, cheap kinematic moves just off it, nothing far away ----
+        long t0 = System.nanoTime();
+        Vector2 pp = player.getPosition();
+        // decide on the worker lanes (arrays only; each slot writes just its own decision fields) ...
+        Enemy.decideAttacks(enemies, delta, player, workers, attackPass);
+        scheduler.run(enemies, delta, flowField, pp.x, pp.y);
+        // ... then apply to the bodies and the player here, in slot order
+        Enemy.applyAttacks(enemies, player, hits, attackPass);
+        if (useCrowdSolver) crowd.step(enemies, delta, pp.x, pp.y, player.getWidth() * 0.5f);
+        else Enemy.applyMotion(enemies);
+        lod.setFullNanos(System.nanoTime() - t0);
+        lod.updateNear(enemies, delta, playerPos.x, playerPos.y, flowField);
     }
 
-    public Array<Enemy> getEnemies() { return enemies; }
+    private com.rgs.runesurvivor.ai.EnemySteering[] createSteering(int lanes) {
+        com.rgs.runesurvivor.ai.EnemySteering[] s = new com.rgs.runesurvivor.ai.EnemySteering[lanes];
+        for (int l = 0; l < lanes; l++) s[l] = Enemy.createSteering(enemies, grid);
+        return s;
+    }
 
-    public void dispose() {
-        for (Enemy e : enemies) e.dispose(worldManager);
-        enemies.clear();
-        Enemy.disposeSharedTexture();
+    private void release(com.badlogic.gdx.physics.box2d.Body b) {
+        if (b != null) pool.free(b); // far-tier enemies have none
     }
 
-    // --- helpers ---
-    private Vector2 chooseValidSpawn(Vector2 center, Vector2 playerPos, float radius) {
-        // Try a few random samples; if water, snap to nearest land
-        for (int attempt = 0; attempt < 16; attempt++) {
-            Vector2 pos = randomSpawnPos(center, radius);
+    /** Simulation side: copy what's drawn into the snapshot being filled. */
+    public void capture(RenderSnapshot snap) {
+        Enemy.capture(enemies, snap);
+    }
 
-            // keep some distance from the player
-            if (pos.dst2(playerPos) < minPlayerDistance * minPlayerDistance) {
-                continue;
-            }
+    /** Render side: sprites from a published snapshot. */
+    public void submit(RenderQueue queue, RenderSnapshot snap) {
+        Enemy.submit(snap, queue);
+    }
 
-            if (island == null) return pos; // no water info available
+    /** Windup/strike wedges (inside ShapeRenderer begin/end, Filled). */
+    public void renderAttacks(ShapeRenderer sr, RenderSnapshot snap) {
+        Enemy.renderAttacks(snap, sr);
+    }
 
-            if (!island.isWaterWorld(pos.x, pos.y)) {
-                return pos; // already on land
-            }
+    public EnemyStore getEnemies() { return enemies; }
+    /** Spatial index over {@link #getEnemies()} as of this tick's update. */
+    public EnemyGrid getGrid() { return grid; }
+    public com.rgs.runesurvivor.ai.FlowField getFlowField() { return flowField; }
+    public EnemyPool getPool() { return pool; }
+    /** Budgets, waves, difficulty ramp and spawn-point stats. */
+    public SpawnDirector getDirector() { return director; }
+    /** Enemy physics stats/tuning for {@link #setCrowdSolver} mode. */
+    public CrowdSolver getCrowdSolver() { return crowd; }
+    public boolean isCrowdSolver() { return useCrowdSolver; }
 
-            // Snap to nearby land
-            Vector2 safe = island.findNearestLand(pos.x, pos.y, 1024);
-            if (safe != null && !island.isWaterWorld(safe.x, safe.y)) {
-                // re-check player distance after snapping
-                if (safe.dst2(playerPos) >= minPlayerDistance * minPlayerDistance) {
-                    return safe;
-                }
+    /**
+     * Move enemy physics between Box2D bodies and the {@link CrowdSolver}. Switching hands every enemy's
+     * position/velocity over as-is: bodies go back to the pool, or get fetched for the simulated tiers.
+     */
+    public void setCrowdSolver(boolean on) {
+        if (on == useCrowdSolver) return;
+        useCrowdSolver = on;
+        for (int i = 0; i < enemies.size; i++) {
+            com.badlogic.gdx.physics.box2d.Body b = enemies.body[i];
+            if (on) {
+                if (b != null) pool.free(b);
+                enemies.body[i] = null;
+            } else if (enemies.tier[i] != EnemyStore.TIER_FAR) {
+                boolean full = enemies.tier[i] == EnemyStore.TIER_FULL;
+                b = enemies.body[i] = pool.obtain(enemies.x[i], enemies.y[i], full);
+                b.setTransform(PhysicsScale.toMeters(enemies.x[i]), PhysicsScale.toMeters(enemies.y[i]), enemies.facing[i]);
+                if (full) b.setLinearVelocity(PhysicsScale.toMeters(enemies.vx[i]), PhysicsScale.toMeters(enemies.vy[i]));
+                b.setLinearDamping(enemies.atkState[i] == EnemyStore.ATK_IDLE ? Enemy.DAMPING : Enemy.ATTACK_DAMPING);
             }
         }
-
-        // Fallback: center-land spawn
-        Vector2 centerLand = island != null ? island.findCenterLandSpawn() : new Vector2(center);
-        // nudge away from player if too close
-        if (centerLand.dst2(playerPos) < minPlayerDistance * minPlayerDistance) {
-            float ang = MathUtils.random(0f, MathUtils.PI2);
-            centerLand.add(MathUtils.cos(ang) * minPlayerDistance, MathUtils.sin(ang) * minPlayerDistance);
-        }
-        return centerLand;
     }
 
-    private Vector2 randomSpawnPos(Vector2 center, float radius) {
-        float angle = MathUtils.random(0f, MathUtils.PI2);
-        float dist  = MathUtils.random(200f, radius);
-        return new Vector2(center.x + MathUtils.cos(angle) * dist,
-            center.y + MathUtils.sin(angle) * dist);
+    /** Tier thresholds / per-tier counts and costs. */
+    public EnemyLod getLod() { return lod; }
+    /** Lane 0's steering (every lane is configured the same). */
+    public com.rgs.runesurvivor.ai.EnemySteering getSteering() { return steering[0]; }
+    public com.rgs.runesurvivor.ai.WorkerPool getWorkers() { return workers; }
+    /** Think rate / per-frame budget, deferral and staleness metrics. */
+    public com.rgs.runesurvivor.ai.AiScheduler getScheduler() { return scheduler; }
+
+    public void dispose() {
+        while (enemies.size > 0) {
+            com.badlogic.gdx.physics.box2d.Body b = enemies.remove(enemies.size - 1);
+            if (b != null) worldManager.getWorld().destroyBody(b);
+        }
+        pool.dispose();
+        workers.dispose();
+        Enemy.disposeSharedTexture();
     }
 
     // --- Tuners (optional) ---
-    public void setMaxEnemies(int n) { this.maxEnemies = n; }
-    public void setSpawnInterval(float s) { this.spawnInterval = s; }
+    public void setMaxEnemies(int n) { director.setMaxEnemies(n); }
+    public void setSpawnInterval(float s) { director.setTrickleInterval(s); }
     public void setSpawnRadiusMultiplier(float m) { this.spawnRadiusMult = Math.max(0.5f, m); }
     public void setDespawnRadiusMultiplier(float m) { this.despawnRadiusMult = Math.max(1.0f, m); }
+    /** Parked enemies to create now / keep at most (extras are destroyed when freed). */
+    public void setPoolLimits(int warmUp, int highWater) { pool.setHighWater(highWater); pool.warmUp(warmUp); }
 
     public void despawnWithinRadius(com.badlogic.gdx.math.Vector2 center, float radius) {
         float r2 = radius * radius;
         for (int i = enemies.size - 1; i >= 0; i--) {
-            Enemy e = enemies.get(i);
-            if (e.getPosition().dst2(center) <= r2) {
-                e.dispose(worldManager);
-                enemies.removeIndex(i);
-            }
+            if (center.dst2(enemies.x[i], enemies.y[i]) <= r2) release(enemies.remove(i));
         }
     }
 }
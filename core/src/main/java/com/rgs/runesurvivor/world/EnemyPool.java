@@ -0,0 +1,97 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.rgs.runesurvivor.entities.Enemy;
+
+/**
+ * Recycles enemy bodies. A freed body is parked: deactivated (out of the broadphase, fixture kept)
+ * until the next spawn repositions and reactivates it. Per-enemy state lives in {@link EnemyStore}
+ * slots, which are reused as-is, so with the pool warm, steady spawning and culling creates no
+ * Bodies or Java objects; {@link #getMisses()} stops growing.
+ */
+public class EnemyPool implements Disposable {
+
+    private final WorldManager worldManager;
+    private final Array<Body> free = new Array<>(false, 16);
+    private int highWater;            // parked bodies kept at most; extras are destroyed
+
+    // stats
+    private int hits, misses, discarded;
+
+    public EnemyPool(WorldManager worldManager, int warmUp, int highWater) {
+        this.worldManager = worldManager;
+        this.highWater = Math.max(0, highWater);
+        warmUp(warmUp);
+    }
+
+    /** Pre-create parked bodies up to {@code count} (capped at the high-water mark). */
+    public void warmUp(int count) {
+        int target = Math.min(count, highWater);
+        while (free.size < target) {
+            Body b = Enemy.createBody(worldManager.getWorld(), 0f, 0f);
+            b.setActive(false);
+            free.add(b);
+        }
+    }
+
+    /** An active body at (x,y) px with no motion: a parked one if there is any, else a new one. */
+    public Body obtain(float x, float y) {
+        return obtain(x, y, true);
+    }
+
+    /** @param active false to hand out a body that stays parked (off-screen LOD tiers) */
+    public Body obtain(float x, float y, boolean active) {
+        if (free.size == 0) {
+            misses++;
+            Body b = Enemy.createBody(worldManager.getWorld(), x, y);
+            if (!active) b.setActive(false);
+            return b;
+        }
+        hits++;
+        Body b = free.pop();
+        b.setTransform(PhysicsScale.toMeters(x), PhysicsScale.toMeters(y), 0f);
+        b.setLinearVelocity(0f, 0f);
+        b.setAngularVelocity(0f);
+        b.setLinearDamping(Enemy.DAMPING);
+        if (active) {
+            b.setActive(true);
+            b.setAwake(true);
+        }
+        return b;
+    }
+
+    /** Park a body for reuse (destroyed instead if the pool is at its high-water mark). */
+    public void free(Body b) {
+        if (free.size >= highWater) {
+            worldManager.getWorld().destroyBody(b);
+            discarded++;
+            return;
+        }
+        b.setLinearVelocity(0f, 0f);
+        b.setAngularVelocity(0f);
+        b.setActive(false);
+        free.add(b);
+    }
+
+    public void setHighWater(int n) {
+        highWater = Math.max(0, n);
+        while (free.size > highWater) {
+            worldManager.getWorld().destroyBody(free.pop());
+            discarded++;
+        }
+    }
+
+    public int getFree() { return free.size; }
+    public int getHits() { return hits; }
+    public int getMisses() { return misses; }
+    public int getDiscarded() { return discarded; }
+
+    /** Destroys the parked bodies (world must still be alive). */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < free.size; i++) worldManager.getWorld().destroyBody(free.get(i));
+        free.clear();
+    }
+}
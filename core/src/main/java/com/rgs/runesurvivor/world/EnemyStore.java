@@ -0,0 +1,179 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+
+import java.util.Arrays;
+
+/**
+ * Every live enemy as parallel primitive arrays (structure of arrays), indices 0..size-1 dense.
+ * Removal swaps the last enemy into the hole, so passes are straight loops over contiguous arrays;
+ * an index is only valid until the next removal, use {@link #id} to recognise an enemy across frames.
+ */
+public class EnemyStore {
+
+    // Attack states
+    public static final byte ATK_IDLE = 0, ATK_WINDUP = 1, ATK_STRIKE = 2, ATK_COOLDOWN = 3;
+
+    // Simulation LOD tiers (see {@link EnemyLod})
+    public static final byte TIER_FULL = 0;    // on screen: active body, full AI
+    public static final byte TIER_NEAR = 1;    // just off screen: inactive body, reduced-rate kinematic moves
+    public static final byte TIER_FAR  = 2;    // far off screen: frozen record, no body
+
+    public int size;
+
+    // Physics mirror in px (copied from the bodies once per tick by {@link #syncFromBodies})
+    public float[] x, y, vx, vy;
+    public float[] facing;          // body angle (radians)
+    public float[] prevX, prevY;    // position one physics step earlier (drawing interpolates from here)
+
+    public float[] hp;
+
+    // Attack state machine
+    public byte[] atkState;
+    public float[] atkTimer;
+    public float[] atkAim;          // degrees
+    public boolean[] didHit;        // this attack already landed
+
+    public float[] wanderOrient;    // wander target angle relative to facing (radians)
+    public int[] id;                // stable per spawn
+    public Body[] body;             // null while TIER_FAR, and always with the CrowdSolver
+    public byte[] tier;
+    public float[] lodTimer;        // time not yet simulated (TIER_NEAR)
+
+    // Last AI decision, reused between thinks (see {@link com.rgs.runesurvivor.ai.AiScheduler})
+    public float[] steerX, steerY;  // linear acceleration
+    public boolean[] steerChase;    // chasing (speed cap) vs wandering
+    public float[] thinkAge;        // seconds since the last think; NEVER_THOUGHT = due now
+
+    public static final float NEVER_THOUGHT = Float.MAX_VALUE;
+
+    private int nextId = 1;
+
+    public EnemyStore(int capacity) {
+        allocate(Math.max(16, capacity));
+    }
+
+    /** Append an enemy; returns its index. */
+    public int add(Body b, float hp) {
+        Vector2 p = b.getPosition();
+        int i = add(PhysicsScale.toPixels(p.x), PhysicsScale.toPixels(p.y), hp);
+        facing[i] = b.getAngle();
+        body[i] = b;
+        return i;
+    }
+
+    /** Append an enemy without a body (moved by the {@link CrowdSolver}); returns its index. */
+    public int add(float px, float py, float hp) {
+        if (size == x.length) allocate(size * 2);
+        int i = size++;
+        x[i] = px; y[i] = py;
+        prevX[i] = px; prevY[i] = py;
+        vx[i] = 0f; vy[i] = 0f;
+        facing[i] = 0f;
+        this.hp[i] = hp;
+        atkState[i] = ATK_IDLE;
+        atkTimer[i] = 0f;
+        atkAim[i] = 0f;
+        didHit[i] = false;
+        wanderOrient[i] = 0f;
+        id[i] = nextId++;
+        body[i] = null;
+        tier[i] = TIER_FULL;
+        lodTimer[i] = 0f;
+        clearThink(i);
+        return i;
+    }
+
+    /** Swap-remove; returns the removed enemy's body or null (the caller parks or destroys it). */
+    public Body remove(int i) {
+        Body b = body[i];
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last]; y[i] = y[last];
+            prevX[i] = prevX[last]; prevY[i] = prevY[last];
+            vx[i] = vx[last]; vy[i] = vy[last];
+            facing[i] = facing[last];
+            hp[i] = hp[last];
+            atkState[i] = atkState[last];
+            atkTimer[i] = atkTimer[last];
+            atkAim[i] = atkAim[last];
+            didHit[i] = didHit[last];
+            wanderOrient[i] = wanderOrient[last];
+            id[i] = id[last];
+            body[i] = body[last];
+            tier[i] = tier[last];
+            lodTimer[i] = lodTimer[last];
+            steerX[i] = steerX[last]; steerY[i] = steerY[last];
+            steerChase[i] = steerChase[last];
+            thinkAge[i] = thinkAge[last];
+        }
+        body[last] = null;
+        return b;
+    }
+
+    /**
+     * One JNI read per simulated body per tick; every pass after this works on the arrays.
+     * Off-screen tiers aren't stepped by Box2D, and bodiless enemies are moved by the {@link CrowdSolver},
+     * so their arrays are the truth.
+     */
+    public void syncFromBodies() {
+        for (int i = 0; i < size; i++) {
+            if (tier[i] != TIER_FULL) continue;
+            Body b = body[i];
+            if (b == null) continue;
+            Vector2 p = b.getPosition();
+            prevX[i] = x[i]; prevY[i] = y[i];
+            x[i] = p.x * PhysicsScale.PPM; y[i] = p.y * PhysicsScale.PPM;
+            Vector2 v = b.getLinearVelocity();
+            vx[i] = v.x * PhysicsScale.PPM; vy[i] = v.y * PhysicsScale.PPM;
+            facing[i] = b.getAngle();
+        }
+    }
+
+    /** Drawn position: {@code alpha} of the way from the previous physics step to the current one. */
+    public float lerpX(int i, float alpha) { return prevX[i] + (x[i] - prevX[i]) * alpha; }
+    public float lerpY(int i, float alpha) { return prevY[i] + (y[i] - prevY[i]) * alpha; }
+
+    /** No interpolation for this step (teleports, tier changes). */
+    public void snapPrevious(int i) { prevX[i] = x[i]; prevY[i] = y[i]; }
+
+    /** Forget the last decision; the enemy thinks at the next chance. */
+    public void clearThink(int i) {
+        steerX[i] = steerY[i] = 0f;
+        steerChase[i] = false;
+        thinkAge[i] = NEVER_THOUGHT;
+    }
+
+    public boolean isDead(int i) { return hp[i] <= 0f; }
+
+    public void damage(int i, float amount) {
+        if (hp[i] > 0f) hp[i] = Math.max(0f, hp[i] - amount);
+    }
+
+    private void allocate(int cap) {
+        if (x == null) {
+            x = new float[cap]; y = new float[cap]; vx = new float[cap]; vy = new float[cap];
+            prevX = new float[cap]; prevY = new float[cap];
+            facing = new float[cap]; hp = new float[cap];
+            atkState = new byte[cap]; atkTimer = new float[cap]; atkAim = new float[cap];
+            didHit = new boolean[cap]; wanderOrient = new float[cap];
+            id = new int[cap]; body = new Body[cap];
+            tier = new byte[cap]; lodTimer = new float[cap];
+            steerX = new float[cap]; steerY = new float[cap];
+            steerChase = new boolean[cap]; thinkAge = new float[cap];
+            return;
+        }
+        x = Arrays.copyOf(x, cap); y = Arrays.copyOf(y, cap);
+        prevX = Arrays.copyOf(prevX, cap); prevY = Arrays.copyOf(prevY, cap);
+        vx = Arrays.copyOf(vx, cap); vy = Arrays.copyOf(vy, cap);
+        facing = Arrays.copyOf(facing, cap); hp = Arrays.copyOf(hp, cap);
+        atkState = Arrays.copyOf(atkState, cap); atkTimer = Arrays.copyOf(atkTimer, cap);
+        atkAim = Arrays.copyOf(atkAim, cap); didHit = Arrays.copyOf(didHit, cap);
+        wanderOrient = Arrays.copyOf(wanderOrient, cap);
+        id = Arrays.copyOf(id, cap); body = Arrays.copyOf(body, cap);
+        tier = Arrays.copyOf(tier, cap); lodTimer = Arrays.copyOf(lodTimer, cap);
+        steerX = Arrays.copyOf(steerX, cap); steerY = Arrays.copyOf(steerY, cap);
+        steerChase = Arrays.copyOf(steerChase, cap); thinkAge = Arrays.copyOf(thinkAge, cap);
+    }
+}
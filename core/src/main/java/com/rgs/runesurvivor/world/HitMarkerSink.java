@@ -0,0 +1,8 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.graphics.Color;
+
+/** Where gameplay reports damage numbers: drawn directly ({@link HitMarkerSystem}) or recorded ({@link RenderSnapshot}). */
+public interface HitMarkerSink {
+    void spawn(float x, float y, String text, Color color, float life);
+}
@@ -5,7 +5,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.Array;
 
-public class HitMarkerSystem {
+public class HitMarkerSystem implements HitMarkerSink {
     public static final Color WHITE = new Color(1f,1f,1f,1f);
     public static final Color GOLD  = new Color(1f,0.84f,0f,1f);
     public static final Color RED = new Color(1f, 0.2f, 0.2f, 1f);
@@ -13,6 +13,7 @@ public class HitMarkerSystem {
     private final Array<HitMarker> list = new Array<>();
     private final BitmapFont font = new BitmapFont();
 
+    @Override
     public void spawn(float x, float y, String text, Color color, float life) {
         list.add(new HitMarker(x, y, text, color, life));
     }
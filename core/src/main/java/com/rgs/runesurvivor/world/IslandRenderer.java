@@ -1,38 +1,52 @@
 package com.rgs.runesurvivor.world;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.FrameBuffer;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.*;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
- * Massive pixel-art island baked to an FBO (for speed) + Box2D water barriers.
+ * Massive pixel-art island, generated in fixed-size chunks around the camera.
+ * Each chunk's colors are baked into an RGBA Pixmap on a worker thread and uploaded once as a
+ * Texture + Box2D water barriers; chunks far from the view are evicted. Queries on cells that are
+ * not resident read a whole-island code grid the worker fills once (with the nearest-land field),
+ * and only fall back to the generator until it is ready. With a {@link TerrainCache} the codes and
+ * contours come from disk instead, and the generator is only built if heights are asked for.
  * Adds circular dirt & gravel patches strictly within the GRASS band (not on edges).
  */
-public class IslandRenderer {
+public class IslandRenderer implements WorldTerrain {
 
     // === Terrain access for external systems ===
     public enum TerrainType { WATER, BEACH, GRASS, DIRT, GRAVEL, ROCK }
+    private static final TerrainType[] TYPES = TerrainType.values(); // values() allocates
+
+    // Packed terrain code (one byte per cell): low bits = TerrainType ordinal, plus flags
+    public static final int  CODE_TYPE_MASK = 0x07;
+    public static final int  CODE_DEEP      = 0x08; // deep water (darker)
+    public static final int  CODE_INLAND    = 0x10; // land a touch above beach (safe spawn)
+    public static final int  CODE_INNER     = 0x20; // inner grass band (patches may stamp here)
+    public static final byte CODE_OUTSIDE   = (byte)(CODE_DEEP); // off-island: deep WATER
+
+    public static TerrainType typeOf(byte code) { return TYPES[code & CODE_TYPE_MASK]; }
+    public static boolean isWater(byte code) { return (code & CODE_TYPE_MASK) == 0; }
+    public static boolean isInland(byte code) { return (code & CODE_INLAND) != 0; }
 
-    // thresholds (match your build() values)
-    private static final float WATER_T = 0.48f;
-    private static final float BEACH_T = 0.53f;
-    private static final float GRASS_T = 0.80f;
+    private static final int CHUNK = TerrainGenerator.CHUNK;
 
-    // cached origin in world space
-    private float originX, originY;
-    // scratch
-    private final com.badlogic.gdx.math.Vector2 tmp = new com.badlogic.gdx.math.Vector2();
+    // cached origin in world space (bottom-left of the grid) and the island's center
+    private final float originX, originY;
+    private final float centerX, centerY;
 
     // replace/checkerboard colors with one solid grass tone
     private static final Color GRASS_SOLID   = new Color(0.24f, 0.62f, 0.27f, 1f);
@@ -41,21 +55,29 @@ public class IslandRenderer {
     private final float cellWorld;       // world units per "pixel"
     private final int seed;
     private final World world;           // for water colliders
-
-    private FrameBuffer fbo;
-    private ShapeRenderer sr;
-    private Sprite sprite;
-
-    // Terrain data
-    private boolean[][] isWater;
-    private boolean[][] isGrass;         // grass band (before patches)
-    private float[][]   height01;        // 0..1 height after mask
-
-    // Patch mask: 0 = none, 1 = dirt, 2 = gravel
-    private byte[][] patchMask;
-
-    // Box2D water edges bodies
-    private final Array<Body> waterBodies = new Array<>();
+    private final int bridges;
+    private volatile TerrainGenerator generator; // immutable once built; null until needed with a cache
+    private final TerrainPlatform platform;    // where the cache is written
+    private final TerrainCache cache;    // on-disk copy of this island, or null
+
+    // Resident chunks, keyed by chunk coords; pending ones are still being built on the worker
+    private final int chunksX, chunksY;
+    private final LongMap<TerrainChunk> chunks = new LongMap<>();
+    private final LongMap<AsyncResult<TerrainChunk>> pending = new LongMap<>();
+    private AsyncExecutor executor;
+
+    // Nearest-land lookup and every cell's code, built once on the worker (ring scan / generator until ready)
+    private volatile LandDistanceField landField;
+    private volatile byte[] gridCodes;
+
+    // Streaming (in chunks, measured from the view rect)
+    private float loadMargin  = 0.5f;  // build when the view gets this close
+    private float evictMargin = 1.5f;  // drop when the view is farther than this
+    private int   maxBuildsPerUpdate = 4; // off-screen chunks queued per update (on-screen ones always)
+    private volatile boolean keepHeights = false; // store quantized heights in chunks
+
+    // Water collider stats over resident chunks (before = one EdgeShape body per cell side)
+    private int waterEdgesBefore, waterSegments, waterLoops, waterBodyCount;
 
     // Palette
     private static final Color DEEP_WATER    = new Color(0.07f, 0.12f, 0.36f, 1f);
@@ -67,288 +89,476 @@ public class IslandRenderer {
     private static final Color GRAVEL        = new Color(0.62f, 0.62f, 0.64f, 1f);
     private static final Color ROCK          = new Color(0.55f, 0.55f, 0.58f, 1f);
 
+    // Palette as RGBA8888 for the pixmap bake
+    private static final int PX_DEEP_WATER    = Color.rgba8888(DEEP_WATER);
+    private static final int PX_SHALLOW_WATER = Color.rgba8888(SHALLOW_WATER);
+    private static final int PX_BEACH         = Color.rgba8888(BEACH);
+    private static final int PX_GRASS         = Color.rgba8888(GRASS_SOLID);
+    private static final int PX_DIRT          = Color.rgba8888(DIRT);
+    private static final int PX_GRAVEL        = Color.rgba8888(GRAVEL);
+    private static final int PX_ROCK          = Color.rgba8888(ROCK);
+
 
     public IslandRenderer(int cols, int rows, float cellWorldUnits, int seed, World world) {
+        this(cols, rows, cellWorldUnits, seed, world, null);
+    }
+
+    /** @param cache a matching {@link TerrainCache} (codes and contours are read from it), or null to generate */
+    public IslandRenderer(int cols, int rows, float cellWorldUnits, int seed, World world, TerrainCache cache) {
+        this(cols, rows, cellWorldUnits, seed, world, cache, 0f, 0f);
+    }
+
+    /** Island centered at (centerX, centerY) in world space (archipelago islands sit away from the origin). */
+    public IslandRenderer(int cols, int rows, float cellWorldUnits, int seed, World world, TerrainCache cache,
+                          float centerX, float centerY) {
+        this(cols, rows, cellWorldUnits, seed, world, cache, centerX, centerY, 0, TerrainPlatform.SERIAL);
+    }
+
+    /**
+     * @param bridges  TerrainGenerator.BRIDGE_* sides with a causeway to a neighbouring island
+     * @param platform runs the generator's height pass and stores the cache (see {@link TerrainPlatform})
+     */
+    public IslandRenderer(int cols, int rows, float cellWorldUnits, int seed, World world, TerrainCache cache,
+                          float centerX, float centerY, int bridges, TerrainPlatform platform) {
         this.cols = cols;
         this.rows = rows;
         this.cellWorld = cellWorldUnits;
         this.seed = seed;
         this.world = world;
-        build();
+        this.cache = cache;
+        this.platform = platform;
+        this.bridges = bridges;
+        // with a cache every code and contour comes from disk, so skip the noise and patch planning
+        if (cache == null) generator = new TerrainGenerator(cols, rows, seed, bridges, platform);
+
+        chunksX = (cols + CHUNK - 1) / CHUNK;
+        chunksY = (rows + CHUNK - 1) / CHUNK;
+
+        // island centered at (centerX, centerY)
+        this.centerX = centerX;
+        this.centerY = centerY;
+        originX = centerX - cols * cellWorld * 0.5f;
+        originY = centerY - rows * cellWorld * 0.5f;
+
+        // queued first, so it's ready before the margin chunks that follow it
+        executor().submit(() -> {
+            byte[] codes = new byte[cols * rows];
+            if (cache != null) cache.readCodes(codes);
+            else generator().fillCodes(codes);
+            landField = LandDistanceField.build(codes, cols, rows);
+            gridCodes = codes;
+            return null;
+        });
     }
 
-    public void dispose() {
-        // remove water colliders first
-        if (world != null) {
-            for (Body b : waterBodies) world.destroyBody(b);
-            waterBodies.clear();
+    public boolean isCached() { return cache != null; }
+
+    /**
+     * Trace the whole island's contours on the worker and hand codes, contours and the resource
+     * node layout to the platform's cache, so the next visit can load it instead.
+     * @param nodes kind, variant, x, y, radius per node (world units)
+     */
+    public void writeCacheAsync(final long cacheSeed, float[] nodes, final int nodeCount) {
+        // nodes are stored relative to the island's min corner
+        final float[] rel = new float[nodeCount * 5];
+        for (int i = 0; i < nodeCount; i++) {
+            int o = i * 5;
+            rel[o] = nodes[o];
+            rel[o + 1] = nodes[o + 1];
+            rel[o + 2] = nodes[o + 2] - originX;
+            rel[o + 3] = nodes[o + 3] - originY;
+            rel[o + 4] = nodes[o + 4];
+        }
+        executor().submit(() -> {
+            // the grid is filled by the first job on this (single) worker
+            final byte[] codes = gridCodes;
+            WaterContourBuilder.Result[] contours = new WaterContourBuilder.Result[chunksX * chunksY];
+            for (int cy = 0; cy < chunksY; cy++) {
+                for (int cx = 0; cx < chunksX; cx++) {
+                    int x0 = cx * CHUNK, y0 = cy * CHUNK;
+                    int w = Math.min(CHUNK, cols - x0), h = Math.min(CHUNK, rows - y0);
+                    // cell units (origin 0, one unit per cell)
+                    contours[cy * chunksX + cx] = WaterContourBuilder.trace(
+                        (x, y) -> isWater(codes[y * cols + x]), x0, y0, w, h, 0f, 0f, 1f);
+                }
+            }
+            platform.writeCache(cacheSeed, cols, rows,
+                TerrainCache.encode(cacheSeed, cols, rows, cellWorld, codes, contours, rel, nodeCount));
+            return null;
+        });
+    }
+
+    // Built up front without a cache; with one, only heights need it (kept heights, getHeightAtWorld)
+    private TerrainGenerator generator() {
+        TerrainGenerator g = generator;
+        if (g == null) {
+            synchronized (this) {
+                g = generator;
+                if (g == null) generator = g = new TerrainGenerator(cols, rows, seed, bridges, platform);
+            }
         }
+        return g;
+    }
 
+    private AsyncExecutor executor() {
+        if (executor == null) executor = new AsyncExecutor(1, "IslandChunks");
+        return executor;
+    }
+
+    public void dispose() {
         // make sure any in-flight draws complete before killing GL objects
         try { Gdx.gl.glFinish(); } catch (Throwable ignored) {}
 
-        if (fbo != null) { fbo.dispose(); fbo = null; }
-        if (sr  != null) { sr.dispose();  sr = null; }
+        // let in-flight bakes finish so their pixmaps can be freed
+        for (AsyncResult<TerrainChunk> r : pending.values()) {
+            TerrainChunk c = r.get();
+            if (c.pixmap != null) { c.pixmap.dispose(); c.pixmap = null; }
+        }
+        pending.clear();
+        if (executor != null) { executor.dispose(); executor = null; }
+
+        // water colliders + chunk textures
+        for (TerrainChunk c : chunks.values()) disposeChunk(c);
+        chunks.clear();
     }
 
+    @Override
     public void render(SpriteBatch batch) {
-        if (sprite != null) sprite.draw(batch);
+        for (TerrainChunk c : chunks.values()) {
+            if (c.sprite != null) c.sprite.draw(batch);
+        }
     }
 
-    private void build() {
-        sr  = new ShapeRenderer();
-        fbo = new FrameBuffer(Pixmap.Format.RGBA8888, cols, rows, false);
+    // ---------- Streaming ----------
+
+    /** Build chunks the camera view is approaching and evict the ones it left behind. */
+    @Override
+    public void updateStreaming(Camera cam) {
+        float zoom = (cam instanceof OrthographicCamera) ? ((OrthographicCamera)cam).zoom : 1f;
+        float halfW = cam.viewportWidth * zoom * 0.5f;
+        float halfH = cam.viewportHeight * zoom * 0.5f;
+        float camX = cam.position.x, camY = cam.position.y;
+        float chunkWorld = CHUNK * cellWorld;
+
+        // ---- 1) evict chunks outside the evict rect ----
+        float ex = halfW + evictMargin * chunkWorld;
+        float ey = halfH + evictMargin * chunkWorld;
+        float eMinX = camX - ex, eMinY = camY - ey, eMaxX = camX + ex, eMaxY = camY + ey;
+        LongMap.Entries<TerrainChunk> it = chunks.entries();
+        while (it.hasNext()) {
+            TerrainChunk c = it.next().value;
+            if (!overlaps(c, eMinX, eMinY, eMaxX, eMaxY)) {
+                disposeChunk(c);
+                it.remove();
+            }
+        }
 
-        isWater   = new boolean[rows][cols];
-        isGrass   = new boolean[rows][cols];
-        height01  = new float[rows][cols];
-        patchMask = new byte[rows][cols];
+        // ---- 2) adopt finished worker bakes (dropping ones the view has already left) ----
+        LongMap.Entries<AsyncResult<TerrainChunk>> pit = pending.entries();
+        while (pit.hasNext()) {
+            LongMap.Entry<AsyncResult<TerrainChunk>> e = pit.next();
+            if (!e.value.isDone()) continue;
+            TerrainChunk c = e.value.get();
+            pit.remove();
+            if (overlaps(c, eMinX, eMinY, eMaxX, eMaxY)) {
+                finishChunk(c);
+                chunks.put(e.key, c);
+            } else if (c.pixmap != null) {
+                c.pixmap.dispose();
+                c.pixmap = null;
+            }
+        }
 
-        // Height / mask params
-        final float freq = 0.0085f;
-        final int   octs = 4;
-        final float gain = 0.5f;
-        final float lac  = 2.0f;
-        final float maskPower = 1.6f;
+        // ---- 3) missing chunks: on-screen ones now (joining a pending bake), margin ones queued within budget ----
+        int budget = maxBuildsPerUpdate;
+        for (int pass = 0; pass < 2; pass++) {
+            float m = pass == 0 ? 0f : loadMargin * chunkWorld;
+            // (a view fully off the island gives an empty range)
+            int cx0 = Math.max(0, chunkIndex(camX - halfW - m - originX));
+            int cx1 = Math.min(chunksX - 1, chunkIndex(camX + halfW + m - originX));
+            int cy0 = Math.max(0, chunkIndex(camY - halfH - m - originY));
+            int cy1 = Math.min(chunksY - 1, chunkIndex(camY + halfH + m - originY));
+            for (int cy = cy0; cy <= cy1; cy++) {
+                for (int cx = cx0; cx <= cx1; cx++) {
+                    long key = TerrainGenerator.chunkKey(cx, cy);
+                    if (chunks.containsKey(key)) continue;
+
+                    AsyncResult<TerrainChunk> job = pending.get(key);
+                    if (pass == 1) {
+                        if (job != null) continue;
+                        if (budget-- <= 0) return;
+                        pending.put(key, submitChunk(cx, cy));
+                        continue;
+                    }
 
-        // Thresholds
-        final float WATER_T = 0.48f;
-        final float BEACH_T = 0.53f;
-        final float GRASS_T = 0.80f;
+                    TerrainChunk c;
+                    if (job != null) { c = job.get(); pending.remove(key); } // wait for the worker
+                    else c = prepareChunk(cx, cy);                            // build inline
+                    finishChunk(c);
+                    chunks.put(key, c);
+                }
+            }
+        }
+    }
 
-        // ---- 1) Precompute height & base classification (no drawing yet) ----
-        for (int y = 0; y < rows; y++) {
-            float ny = (y / (float)rows - 0.5f) * 2f; // [-1,1]
-            for (int x = 0; x < cols; x++) {
-                float nx = (x / (float)cols - 0.5f) * 2f; // [-1,1]
+    private int chunkIndex(float localWorld) {
+        return (int)Math.floor(localWorld / (CHUNK * cellWorld));
+    }
 
-                float r = (float)Math.sqrt(nx*nx + ny*ny);
-                float mask = MathUtils.clamp(1f - (float)Math.pow(r, maskPower), 0f, 1f);
+    private boolean overlaps(TerrainChunk c, float minX, float minY, float maxX, float maxY) {
+        float x0 = originX + c.x0 * cellWorld, y0 = originY + c.y0 * cellWorld;
+        return x0 < maxX && x0 + c.w * cellWorld > minX && y0 < maxY && y0 + c.h * cellWorld > minY;
+    }
 
-                float h = fbm(x * freq, y * freq, octs, gain, lac); // [-1,1]
-                float val = MathUtils.clamp((h * 0.5f + 0.5f) * mask, 0f, 1f);
+    private AsyncResult<TerrainChunk> submitChunk(final int cx, final int cy) {
+        return executor().submit(() -> prepareChunk(cx, cy));
+    }
 
-                height01[y][x] = val;
-                isWater[y][x]  = val < WATER_T;
-                isGrass[y][x]  = (val >= BEACH_T && val < GRASS_T);
+    // CPU half (worker-safe): terrain arrays, pixmap colors, contour tracing
+    private TerrainChunk prepareChunk(int cx, int cy) {
+        TerrainChunk c = new TerrainChunk(cx, cy, cols, rows);
+        if (cache != null && !keepHeights) cache.readChunkCodes(c);
+        else generator().fill(c, keepHeights);
+        bakePixmap(c);
+        if (world != null) {
+            if (cache != null) {
+                c.contours = cache.readContours(cx, cy, originX, originY, cellWorld);
+            } else {
+                // cells outside the chunk count as land, so each chunk closes its own loops
+                c.contours = WaterContourBuilder.trace(c::isWater, c.x0, c.y0, c.w, c.h, originX, originY, cellWorld);
             }
         }
+        return c;
+    }
 
-        // ---- 2) Bake circular patches strictly inside the grass band ----
-        // Keep them away from the beach/rock edges by requiring an "inner grass" margin.
-        final float INNER_GRASS_LOW  = BEACH_T + 0.02f;
-        final float INNER_GRASS_HIGH = GRASS_T - 0.03f;
-
-        // --- smaller, circular patches strictly inside grass ---
-        int area = cols * rows;
-        // More patches (because they’re smaller), but still sparse
-        int numPatches = Math.max(120, area / 2200); // ~120–240 on 512x512
-
-        // Tiny radii in "pixel cells"
-        int minR = Math.max(2, Math.round(cols * 0.003f));  // ~2 on 512
-        int maxR = Math.max(minR + 1, Math.round(cols * 0.010f)); // ~5 on 512
-
-        MathUtils.random.setSeed(seed * 9973L);
-
-        for (int i = 0; i < numPatches; i++) {
-            // Pick a center well inside grass
-            int cx, cy, tries = 0;
-            while (true) {
-                cx = MathUtils.random(0, cols - 1);
-                cy = MathUtils.random(0, rows - 1);
-                float v = height01[cy][cx];
-                if (v >= INNER_GRASS_LOW && v < INNER_GRASS_HIGH) break;
-                if (++tries > 4000) break; // give up if no spot found
-            }
-            if (tries > 4000) break;
+    // GL/Box2D half (main thread): upload once, then drop the pixmap
+    private void finishChunk(TerrainChunk c) {
+        c.texture = new Texture(c.pixmap);
+        c.texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        c.pixmap.dispose();
+        c.pixmap = null;
 
-            int r = MathUtils.random(minR, maxR);
-            // Type: bias to dirt
-            byte type = MathUtils.random() < 0.6f ? (byte)1 : (byte)2; // 1=dirt, 2=gravel
+        // Sprite scaled to world units at the chunk's place on the island
+        c.sprite = new Sprite(c.texture);
+        c.sprite.setSize(c.w * cellWorld, c.h * cellWorld);
+        c.sprite.setPosition(originX + c.x0 * cellWorld, originY + c.y0 * cellWorld);
 
-            int x0 = Math.max(0, cx - r);
-            int x1 = Math.min(cols - 1, cx + r);
-            int y0 = Math.max(0, cy - r);
-            int y1 = Math.min(rows - 1, cy + r);
+        if (c.contours != null) buildWaterColliders(c);
+        c.contours = null;
+    }
 
-            int r2 = r * r;
-            for (int y = y0; y <= y1; y++) {
-                for (int x = x0; x <= x1; x++) {
-                    int dx = x - cx;
-                    int dy = y - cy;
-                    if (dx*dx + dy*dy <= r2) {
-                        // Only stamp inside grass (prevents patches touching edges)
-                        if (isGrass[y][x] && height01[y][x] >= INNER_GRASS_LOW && height01[y][x] < INNER_GRASS_HIGH) {
-                            patchMask[y][x] = type;
-                        }
-                    }
-                }
-            }
+    private void disposeChunk(TerrainChunk c) {
+        if (c.waterBody != null) {
+            if (world != null) world.destroyBody(c.waterBody);
+            c.waterBody = null;
+            waterEdgesBefore -= c.waterEdges;
+            waterSegments    -= c.waterSegments;
+            waterLoops       -= c.waterLoops;
+            waterBodyCount--;
         }
+        if (c.texture != null) { c.texture.dispose(); c.texture = null; }
+        c.sprite = null;
+    }
 
-        // ---- 3) Draw into FBO using arrays + patches ----
-        OrthographicCamera cam = new OrthographicCamera(cols, rows);
-        cam.setToOrtho(false, cols, rows);
-
-        fbo.begin();
-        Gdx.gl.glClearColor(0, 0, 0, 0);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-
-        sr.setProjectionMatrix(cam.combined);
-        sr.begin(ShapeRenderer.ShapeType.Filled);
-
-        for (int y = 0; y < rows; y++) {
-            for (int x = 0; x < cols; x++) {
-                float val = height01[y][x];
-
-                if (isWater[y][x]) {
-                    sr.setColor(val < 0.7f * 0.48f ? DEEP_WATER : SHALLOW_WATER);
-                } else if (val < BEACH_T) {
-                    sr.setColor(BEACH);
-                } else if (val < GRASS_T) {
-                    byte pm = patchMask[y][x];
-                    if      (pm == 1) sr.setColor(DIRT);
-                    else if (pm == 2) sr.setColor(GRAVEL);
-                    else              sr.setColor(GRASS_SOLID); // solid grass, no checkerboard
-                } else {
-                    sr.setColor(ROCK);
+    // ---------- Fill a chunk's pixmap from the packed codes (no GL calls) ----------
+    private void bakePixmap(TerrainChunk c) {
+        c.pixmap = new Pixmap(c.w, c.h, Pixmap.Format.RGBA8888);
+        ByteBuffer px = c.pixmap.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN); // R,G,B,A bytes
+
+        for (int y = 0; y < c.h; y++) {
+            int row = (c.h - 1 - y) * c.w;   // pixmap row 0 is the top; cell row 0 is the bottom
+            for (int x = 0; x < c.w; x++) {
+                byte code = c.codes[y * c.w + x];
+                int color;
+
+                switch (typeOf(code)) {
+                    case WATER:  color = (code & CODE_DEEP) != 0 ? PX_DEEP_WATER : PX_SHALLOW_WATER; break;
+                    case BEACH:  color = PX_BEACH; break;
+                    case DIRT:   color = PX_DIRT; break;
+                    case GRAVEL: color = PX_GRAVEL; break;
+                    case ROCK:   color = PX_ROCK; break;
+                    default:     color = PX_GRASS; break; // solid grass, no checkerboard
                 }
 
-                sr.rect(x, y, 1f, 1f);
-            }
-        }
-
-        sr.end();
-        fbo.end();
-
-        // Build sprite scaled to world units, centered at world origin
-        Texture tex = fbo.getColorBufferTexture();
-        tex.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
-        TextureRegion region = new TextureRegion(tex);
-        region.flip(false, true); // FBO Y-flipped
-
-        sprite = new Sprite(region);
-        sprite.setSize(cols * cellWorld, rows * cellWorld);
-        sprite.setOriginCenter();
-        sprite.setPosition(-sprite.getWidth() / 2f, -sprite.getHeight() / 2f);
-
-        // cache origin for world<->grid mapping
-        originX = sprite.getX();
-        originY = sprite.getY();
-
-        // Build Box2D edge colliders along water boundaries
-        if (world != null) buildWaterColliders();
-    }
-
-    // ---------- Build water boundary edges (land<->water cell borders) ----------
-    private void buildWaterColliders() {
-        final float originX = -cols * cellWorld * 0.5f;
-        final float originY = -rows * cellWorld * 0.5f;
-
-        java.util.function.BiConsumer<float[], float[]> addEdge = (a, b) -> {
-            BodyDef bd = new BodyDef();
-            bd.type = BodyDef.BodyType.StaticBody;
-            Body body = world.createBody(bd);
-
-            EdgeShape edge = new EdgeShape();
-            edge.set(a[0], a[1], b[0], b[1]);
-
-            FixtureDef fd = new FixtureDef();
-            fd.shape = edge;
-            fd.friction = 0.9f;
-            fd.restitution = 0f;
-            fd.density = 0f;
-            body.createFixture(fd);
-            edge.dispose();
-
-            waterBodies.add(body);
-        };
-
-        for (int y = 0; y < rows; y++) {
-            for (int x = 0; x < cols; x++) {
-                if (!isWater[y][x]) continue;
-
-                float x0 = originX + x * cellWorld;
-                float y0 = originY + y * cellWorld;
-                float x1 = x0 + cellWorld;
-                float y1 = y0 + cellWorld;
-
-                if (y + 1 >= rows || !isWater[y + 1][x]) addEdge.accept(new float[]{x0, y1}, new float[]{x1, y1}); // top
-                if (y - 1 < 0    || !isWater[y - 1][x]) addEdge.accept(new float[]{x0, y0}, new float[]{x1, y0}); // bottom
-                if (x - 1 < 0    || !isWater[y][x - 1]) addEdge.accept(new float[]{x0, y0}, new float[]{x0, y1}); // left
-                if (x + 1 >= cols|| !isWater[y][x + 1]) addEdge.accept(new float[]{x1, y0}, new float[]{x1, y1}); // right
+                px.putInt((row + x) * 4, color);
             }
         }
     }
 
-    // --------- fBm (value noise + bilinear) ----------
-    private float fbm(float x, float y, int octaves, float gain, float lacunarity) {
-        float amp = 1f, sum = 0f, norm = 0f;
-        float fx = x, fy = y;
-        for (int i = 0; i < octaves; i++) {
-            sum += amp * valueNoise(fx, fy);
-            norm += amp;
-            amp *= gain;
-            fx *= lacunarity;
-            fy *= lacunarity;
+    // ---------- Build water boundary colliders (traced contours -> ChainShape loops) ----------
+    private void buildWaterColliders(TerrainChunk c) {
+        WaterContourBuilder.Result contours = c.contours;
+        if (contours.loops.size == 0) return;
+
+        c.waterBody     = WaterContourBuilder.createBody(world, contours.loops);
+        c.waterEdges    = contours.unitEdges;
+        c.waterSegments = contours.segments;
+        c.waterLoops    = contours.loops.size;
+
+        waterEdgesBefore += c.waterEdges;
+        waterSegments    += c.waterSegments;
+        waterLoops       += c.waterLoops;
+        waterBodyCount++;
+        if (Gdx.app != null) {
+            Gdx.app.debug("IslandRenderer", "chunk " + c.cx + "," + c.cy + " water colliders: "
+                + c.waterEdges + " edges / " + c.waterEdges + " bodies -> " + c.waterSegments
+                + " chain segments in " + c.waterLoops + " loops / 1 body");
         }
-        return (norm > 0f) ? (sum / norm * 2f - 1f) : 0f; // [-1,1]
     }
 
-    // Value noise in [0,1] with smooth interpolation
-    private float valueNoise(float x, float y) {
-        int xi = (int)Math.floor(x);
-        int yi = (int)Math.floor(y);
-        float xf = x - xi;
-        float yf = y - yi;
+    // Collider stats over resident chunks (before = one EdgeShape body per cell side)
+    public int getWaterEdgesBefore() { return waterEdgesBefore; }
+    public int getWaterSegments() { return waterSegments; }
+    public int getWaterLoops() { return waterLoops; }
+    public int getWaterBodyCount() { return waterBodyCount; }
 
-        float v00 = hash01(xi,     yi);
-        float v10 = hash01(xi + 1, yi);
-        float v01 = hash01(xi,     yi + 1);
-        float v11 = hash01(xi + 1, yi + 1);
+    public int getResidentChunkCount() { return chunks.size; }
 
-        float u = xf * xf * (3f - 2f * xf);
-        float v = yf * yf * (3f - 2f * yf);
+    // Streaming tuners
+    public void setLoadMargin(float chunksMargin) { loadMargin = Math.max(0f, chunksMargin); evictMargin = Math.max(evictMargin, loadMargin + 0.5f); }
+    public void setEvictMargin(float chunksMargin) { evictMargin = Math.max(loadMargin + 0.5f, chunksMargin); }
+    public void setMaxBuildsPerUpdate(int n) { maxBuildsPerUpdate = Math.max(0, n); }
+    /** Keep 8-bit heights in chunks built from now on (for effects); gameplay only needs the codes. */
+    public void setKeepHeights(boolean keep) { keepHeights = keep; }
 
-        float i1 = MathUtils.lerp(v00, v10, u);
-        float i2 = MathUtils.lerp(v01, v11, u);
-        return MathUtils.lerp(i1, i2, v); // [0,1]
+    // ---------- Cell access (resident chunk, else the code grid, else cache / generator; no allocation) ----------
+    private TerrainChunk chunkAt(int x, int y) {
+        return chunks.get(TerrainGenerator.chunkKey(x / CHUNK, y / CHUNK));
     }
 
-    private float hash01(int x, int y) {
-        int n = x * 374761393 ^ y * 668265263 ^ seed;
-        n = (n ^ (n >>> 13)) * 1274126177;
-        n = n ^ (n >>> 16);
-        return (n & 0x7fffffff) / (float)0x7fffffff;
+    /** Grid column of a world x (may be outside [0, cols)). */
+    public int worldToCellX(float wx) { return com.badlogic.gdx.math.MathUtils.floor((wx - originX) / cellWorld); }
+    /** Grid row of a world y (may be outside [0, rows)). */
+    public int worldToCellY(float wy) { return com.badlogic.gdx.math.MathUtils.floor((wy - originY) / cellWorld); }
+    public float cellCenterX(int x) { return originX + x * cellWorld + cellWorld * 0.5f; }
+    public float cellCenterY(int y) { return originY + y * cellWorld + cellWorld * 0.5f; }
+    @Override
+    public float getCellSize() { return cellWorld; }
+    @Override
+    public int getTerrainVersion() { return 0; } // a single island's terrain never changes
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    /** Packed code of a grid cell; cells off the island are {@link #CODE_OUTSIDE}. */
+    public byte getCellCode(int x, int y) {
+        if (x < 0 || y < 0 || x >= cols || y >= rows) return CODE_OUTSIDE;
+        TerrainChunk c = chunkAt(x, y);
+        if (c != null) return c.code(x, y);
+        byte[] grid = gridCodes;
+        if (grid != null) return grid[y * cols + x];
+        return cache != null ? cache.code(x, y) : generator().codeAt(x, y);
     }
 
-    // World -> grid
-    private boolean worldToCell(float wx, float wy, int[] outXY) {
-        int cx = com.badlogic.gdx.math.MathUtils.floor((wx - originX) / cellWorld);
-        int cy = com.badlogic.gdx.math.MathUtils.floor((wy - originY) / cellWorld);
-        if (cx < 0 || cy < 0 || cx >= cols || cy >= rows) return false;
-        outXY[0] = cx; outXY[1] = cy;
-        return true;
+    @Override
+    public byte getCodeAtWorld(float wx, float wy) {
+        return getCellCode(worldToCellX(wx), worldToCellY(wy));
     }
 
     /** True if this world position is water (outside the island counts as water). */
+    @Override
     public boolean isWaterWorld(float wx, float wy) {
-        int[] xy = new int[2];
-        if (!worldToCell(wx, wy, xy)) return true;
-        return isWater[xy[1]][xy[0]];
+        return isWater(getCodeAtWorld(wx, wy));
     }
 
-    /** Find the nearest land cell to (wx,wy). Prefers land a bit above beach to avoid shoreline. */
-    public com.badlogic.gdx.math.Vector2 findNearestLand(float wx, float wy, int maxRadiusCells) {
-        int[] xy = new int[2];
-        if (!worldToCell(wx, wy, xy)) {
-            // if outside, start from island center
-            xy[0] = cols / 2; xy[1] = rows / 2;
+    // Classify terrain at world coordinates
+    @Override
+    public TerrainType getTerrainAtWorld(float wx, float wy) {
+        return typeOf(getCodeAtWorld(wx, wy)); // outside treated as water
+    }
+
+    /** 0..1 height (quantized if the chunk kept heights, exact from the generator otherwise). */
+    public float getHeightAtWorld(float wx, float wy) {
+        int x = worldToCellX(wx), y = worldToCellY(wy);
+        if (x < 0 || y < 0 || x >= cols || y >= rows) return 0f;
+        TerrainChunk c = chunkAt(x, y);
+        if (c != null && c.height8 != null) return (c.height8[(y - c.y0) * c.w + (x - c.x0)] & 0xff) / 255f;
+        return generator().heightAt(x, y);
+    }
+
+    // ---------- Bulk queries ----------
+
+    /** Codes for {@code count} interleaved world points (x0,y0,x1,y1,...). */
+    public void getCodesAtWorld(float[] worldXY, int count, byte[] out) {
+        for (int i = 0; i < count; i++) out[i] = getCodeAtWorld(worldXY[i * 2], worldXY[i * 2 + 1]);
+    }
+
+    /** Count of water points among {@code count} interleaved world points. */
+    public int countWater(float[] worldXY, int count) {
+        int n = 0;
+        for (int i = 0; i < count; i++) if (isWaterWorld(worldXY[i * 2], worldXY[i * 2 + 1])) n++;
+        return n;
+    }
+
+    /** Codes for a cell window, row-major into {@code out} (w*h); chunks / the code grid are copied row by row. */
+    public void getCellCodes(int x0, int y0, int w, int h, byte[] out) {
+        getCellCodes(x0, y0, w, h, out, 0, w);
+    }
+
+    /** Same, written at {@code out[offset + y * stride + x]}. */
+    public void getCellCodes(int x0, int y0, int w, int h, byte[] out, int offset, int stride) {
+        for (int y = 0; y < h; y++) {
+            int gy = y0 + y;
+            int row = offset + y * stride;
+            int x = 0;
+            while (x < w) {
+                int gx = x0 + x;
+                TerrainChunk c = (gx < 0 || gy < 0 || gx >= cols || gy >= rows) ? null : chunkAt(gx, gy);
+                byte[] grid;
+                if (c != null) {
+                    int run = Math.min(w - x, c.x0 + c.w - gx);
+                    System.arraycopy(c.codes, (gy - c.y0) * c.w + (gx - c.x0), out, row + x, run);
+                    x += run;
+                } else if (gx >= 0 && gy >= 0 && gx < cols && gy < rows && (grid = gridCodes) != null) {
+                    int run = Math.min(w - x, cols - gx);
+                    System.arraycopy(grid, gy * cols + gx, out, row + x, run);
+                    x += run;
+                } else {
+                    out[row + x] = getCellCode(gx, gy);
+                    x++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void getCodesInRect(float minX, float minY, int w, int h, byte[] out) {
+        // sample at the first cell's center, so lattice-aligned corners can't round into the wrong cell
+        getCellCodes(worldToCellX(minX + cellWorld * 0.5f), worldToCellY(minY + cellWorld * 0.5f), w, h, out);
+    }
+
+    // ---------- Spawn helpers ----------
+
+    /**
+     * Find the nearest land cell to (wx,wy), written to {@code out} (cell center). Prefers land a bit
+     * above beach to avoid shoreline. Returns false (and the island center) if none is in range.
+     * Points off the island search from the nearest edge cell (the radius counts from there).
+     */
+    @Override
+    public boolean findNearestLand(float wx, float wy, int maxRadiusCells, com.badlogic.gdx.math.Vector2 out) {
+        int cx = Math.max(0, Math.min(cols - 1, worldToCellX(wx)));
+        int cy = Math.max(0, Math.min(rows - 1, worldToCellY(wy)));
+
+        LandDistanceField field = landField;
+        if (field != null) {
+            // one lookup in the precomputed field
+            int d = field.distance(cx, cy);
+            if (d >= 0 && d <= maxRadiusCells) {
+                int n = field.nearestIndex(cx, cy);
+                out.set(cellCenterX(n % cols), cellCenterY(n / cols));
+                return true;
+            }
+        } else if (findNearestLandScan(cx, cy, maxRadiusCells, out)) {
+            return true;
         }
-        int cx = xy[0], cy = xy[1];
+        // fallback: center of island
+        out.set(centerX, centerY);
+        return false;
+    }
 
-        // search rings expanding from (cx,cy)
-        for (int r = 0; r <= maxRadiusCells; r++) {
+    // Square rings expanding from (cx,cy); only used until the distance field is built.
+    private boolean findNearestLandScan(int cx, int cy, int maxRadiusCells, com.badlogic.gdx.math.Vector2 out) {
+        int maxR = Math.min(maxRadiusCells, Math.max(cols, rows));
+        for (int r = 0; r <= maxR; r++) {
             int x0 = Math.max(0, cx - r), x1 = Math.min(cols - 1, cx + r);
             int y0 = Math.max(0, cy - r), y1 = Math.min(rows - 1, cy + r);
             for (int y = y0; y <= y1; y++) {
@@ -356,45 +566,50 @@ public class IslandRenderer {
                     // only check the border of the square ring
                     if (y != y0 && y != y1 && x != x0 && x != x1) continue;
                     // land and a touch above beach to avoid being right on the edge
-                    if (!isWater[y][x] && height01[y][x] >= (BEACH_T + 0.01f)) {
-                        float wxc = originX + x * cellWorld + cellWorld * 0.5f;
-                        float wyc = originY + y * cellWorld + cellWorld * 0.5f;
-                        return new com.badlogic.gdx.math.Vector2(wxc, wyc);
+                    if (isInland(getCellCode(x, y))) {
+                        out.set(cellCenterX(x), cellCenterY(y));
+                        return true;
                     }
                 }
             }
         }
-        // fallback: center of island sprite
-        return new com.badlogic.gdx.math.Vector2(0f, 0f);
+        return false;
+    }
+
+    /** Chebyshev distance in cells from (wx,wy) to safe land, or -1 if unknown (field not built yet / no land). */
+    public int getLandDistanceCells(float wx, float wy) {
+        LandDistanceField field = landField;
+        int x = worldToCellX(wx), y = worldToCellY(wy);
+        if (field == null || x < 0 || y < 0 || x >= cols || y >= rows) return -1;
+        return field.distance(x, y);
+    }
+
+    /** True once the nearest-land field and code grid are built (lookups are O(1) from then on). */
+    public boolean isLandFieldReady() { return gridCodes != null; }
+
+    public com.badlogic.gdx.math.Vector2 findNearestLand(float wx, float wy, int maxRadiusCells) {
+        com.badlogic.gdx.math.Vector2 out = new com.badlogic.gdx.math.Vector2();
+        findNearestLand(wx, wy, maxRadiusCells, out);
+        return out;
     }
 
     /** Convenience: land near island center. */
+    @Override
     public com.badlogic.gdx.math.Vector2 findCenterLandSpawn() {
-        return findNearestLand(0f, 0f, Math.max(cols, rows));
+        return findNearestLand(centerX, centerY, Math.max(cols, rows));
+    }
+
+    public float getCenterX() { return centerX; }
+    public float getCenterY() { return centerY; }
+
+    /** True if (wx,wy) is on this island's grid. */
+    public boolean containsWorld(float wx, float wy) {
+        return wx >= originX && wy >= originY && wx < originX + cols * cellWorld && wy < originY + rows * cellWorld;
     }
 
-    // World bounds (where the island sprite is drawn)
+    // World bounds (where the island is drawn)
     public float getWorldMinX() { return originX; }
     public float getWorldMinY() { return originY; }
     public float getWorldWidth() { return cols * cellWorld; }
     public float getWorldHeight() { return rows * cellWorld; }
-
-    // Classify terrain at world coordinates
-    public TerrainType getTerrainAtWorld(float wx, float wy) {
-        int[] xy = new int[2];
-        if (!worldToCell(wx, wy, xy)) return TerrainType.WATER; // outside treated as water
-        int x = xy[0], y = xy[1];
-        float val = height01[y][x];
-
-        if (isWater[y][x]) return TerrainType.WATER;
-        // Match the thresholds used in build()
-        if (val < BEACH_T) return TerrainType.BEACH;
-        if (val < GRASS_T) {
-            byte pm = patchMask[y][x];
-            if (pm == 1)      return TerrainType.DIRT;
-            else if (pm == 2) return TerrainType.GRAVEL;
-            else              return TerrainType.GRASS;
-        }
-        return TerrainType.ROCK;
-    }
 }
@@ -0,0 +1,71 @@
+package com.rgs.runesurvivor.world;
+
+import java.util.Arrays;
+
+/**
+ * Nearest safe-land cell for every cell of the island grid, so spawn snapping is one lookup
+ * instead of a ring scan through open water.
+ * Built once with a multi-source 8-neighbour BFS from every inland cell; with diagonal steps the
+ * BFS depth is the Chebyshev distance, the same metric the old square-ring search used.
+ */
+public class LandDistanceField {
+
+    private final int cols, rows;
+    private final int[] nearest;   // cell index (y * cols + x) of the nearest inland cell, -1 = no land
+    private int landCells;
+
+    private LandDistanceField(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        this.nearest = new int[cols * rows];
+        Arrays.fill(nearest, -1);
+    }
+
+    /** Build from a full row-major code grid (loaded from disk, or filled by the generator). */
+    public static LandDistanceField build(byte[] codes, int cols, int rows) {
+        LandDistanceField f = new LandDistanceField(cols, rows);
+        int[] queue = new int[cols * rows];
+        for (int i = 0; i < codes.length; i++) {
+            if (IslandRenderer.isInland(codes[i])) f.seed(i, queue);
+        }
+        f.propagate(queue);
+        return f;
+    }
+
+    private void seed(int i, int[] queue) {
+        nearest[i] = i;
+        queue[landCells++] = i;
+    }
+
+    // Each cell is queued once, so this is linear in the grid size.
+    private void propagate(int[] queue) {
+        int head = 0, tail = landCells;
+        while (head < tail) {
+            int i = queue[head++];
+            int x = i % cols, y = i / cols;
+            int src = nearest[i];
+            for (int ny = Math.max(0, y - 1); ny <= Math.min(rows - 1, y + 1); ny++) {
+                for (int nx = Math.max(0, x - 1); nx <= Math.min(cols - 1, x + 1); nx++) {
+                    int j = ny * cols + nx;
+                    if (nearest[j] != -1) continue;
+                    nearest[j] = src;
+                    queue[tail++] = j;
+                }
+            }
+        }
+    }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+    public boolean hasLand() { return landCells > 0; }
+
+    /** Cell index of the nearest inland cell to (x,y), or -1 if the island has none. */
+    public int nearestIndex(int x, int y) { return nearest[y * cols + x]; }
+
+    /** Chebyshev distance in cells to the nearest inland cell, or -1 if the island has none. */
+    public int distance(int x, int y) {
+        int n = nearest[y * cols + x];
+        if (n < 0) return -1;
+        return Math.max(Math.abs(n % cols - x), Math.abs(n / cols - y));
+    }
+}
@@ -0,0 +1,27 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Box2D works in meters; the game (sprites, terrain cells, AI, saves) works in pixels / world units.
+ * Everything that hands a position, size, velocity or force to a body converts here, so Box2D sees
+ * objects of a size it's tuned for (0.1-10 m) and its per-step translation limit (2 m) stops being
+ * a speed cap (120 px/s at 1:1, 3840 px/s now).
+ */
+public final class PhysicsScale {
+
+    /** Pixels per meter. */
+    public static final float PPM = 32f;
+    /** Meters per pixel. */
+    public static final float MPP = 1f / PPM;
+
+    private PhysicsScale() {}
+
+    public static float toMeters(float px) { return px * MPP; }
+    public static float toPixels(float m) { return m * PPM; }
+
+    /** {@code out} = {@code meters} in pixels (may be the same vector). */
+    public static Vector2 toPixels(Vector2 meters, Vector2 out) {
+        return out.set(meters.x * PPM, meters.y * PPM);
+    }
+}
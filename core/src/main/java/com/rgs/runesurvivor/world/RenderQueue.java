@@ -0,0 +1,195 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.util.Arrays;
+
+/**
+ * Layered, Y-sorted sprite queue. Systems submit sprites with a layer and a sort Y; the queue keeps a
+ * copy of each sprite's vertices. A frame's list is filled and sorted on the queue's worker by a
+ * {@link Builder} reading the published {@link RenderSnapshot} (while the GL thread draws the terrain),
+ * and then replayed into the SpriteBatch with no per-command logic left on the render thread.
+ *
+ * Sort order: layer, then Y (higher Y = farther back = drawn first) in bands of {@link #Y_BAND}
+ * world units, then texture, so sprites inside one band are grouped to cut batch flushes.
+ *
+ * The queue also remembers which coarse cells this frame's sprites cover, so static layers drawn
+ * ahead of it from a cache can re-submit just the pieces that something is standing in front of
+ * or behind ({@link #overlapsSubmitted}, {@link #submitStatic}).
+ */
+public class RenderQueue implements Disposable {
+
+    /**
+     * Fills one frame's queue on the worker. It may only read state the GL thread leaves alone until
+     * {@link #replay}: the published snapshot, sprites it owns and textures loaded beforehand.
+     */
+    public interface Builder {
+        void build(RenderQueue queue);
+    }
+
+    public static final int LAYER_GROUND  = 0; // flat things on the ground (coins)
+    public static final int LAYER_WORLD   = 1; // Y-sorted: characters, weapons, trees, rocks
+    public static final int LAYER_OVERLAY = 2; // above the world
+
+    /** Sort granularity (world units); keep things that must stay ordered at least one band apart. */
+    public static final float Y_BAND = 4f;
+
+    private static final int VERTS = 20;                  // one SpriteBatch quad
+    private static final int INDEX_BITS = 20, TEX_BITS = 16, Y_BITS = 24;
+    private static final int MAX_COMMANDS = 1 << INDEX_BITS;
+    private static final int Y_MAX = (1 << Y_BITS) - 1;
+    private static final float MARK_CELL = 128f;          // occupancy cell (world units)
+
+    // Frame list (filled and sorted on the worker)
+    private float[] verts = new float[VERTS * 512];
+    private Texture[] textures = new Texture[512];
+    private long[] keys = new long[512];
+    private int count;
+
+    // Cells covered by sprites submitted this frame (packed cx|cy)
+    private final IntSet marked = new IntSet();
+
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+    private final AsyncExecutor executor = new AsyncExecutor(1, "RenderQueue");
+    private AsyncResult<Void> building;
+
+    // stats (last replay)
+    private int lastCommands, lastTextureSwitches;
+
+    /**
+     * Build and sort the next frame on the worker (drops anything not replayed); {@link #replay}
+     * waits for it. The submit methods below are for the builder, on the worker.
+     */
+    public void buildAsync(final Builder builder) {
+        finishBuild();
+        building = executor.submit(() -> {
+            count = 0;
+            marked.clear();
+            builder.build(this);
+            Arrays.sort(keys, 0, count);
+            return null;
+        });
+    }
+
+    /** Queue a sprite as it looks right now. */
+    public void submit(int layer, float sortY, Sprite sprite) {
+        if (add(layer, sortY, sprite)) mark(count - 1);
+    }
+
+    /**
+     * Queue a copy of a sprite that is already drawn underneath the queue (e.g. from a SpriteCache),
+     * so it sorts against what overlaps it. Doesn't count as occupying its cells.
+     */
+    public void submitStatic(int layer, float sortY, Sprite sprite) {
+        add(layer, sortY, sprite);
+    }
+
+    /** True if a sprite submitted this frame may overlap the rect (coarse: shares a cell with it). */
+    public boolean overlapsSubmitted(float minX, float minY, float maxX, float maxY) {
+        int cx0 = MathUtils.floor(minX / MARK_CELL), cx1 = MathUtils.floor(maxX / MARK_CELL);
+        int cy0 = MathUtils.floor(minY / MARK_CELL), cy1 = MathUtils.floor(maxY / MARK_CELL);
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                if (marked.contains(cellKey(cx, cy))) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean add(int layer, float sortY, Sprite sprite) {
+        if (count == MAX_COMMANDS) return false;
+        ensureCapacity(count + 1);
+        System.arraycopy(sprite.getVertices(), 0, verts, count * VERTS, VERTS);
+        Texture tex = sprite.getTexture();
+        textures[count] = tex;
+        keys[count] = key(layer, sortY, textureId(tex), count);
+        count++;
+        return true;
+    }
+
+    // Mark the cells under a queued quad's bounds (x/y at every 5th float)
+    private void mark(int index) {
+        int o = index * VERTS;
+        float minX = verts[o], maxX = minX, minY = verts[o + 1], maxY = minY;
+        for (int v = 5; v < VERTS; v += 5) {
+            minX = Math.min(minX, verts[o + v]);     maxX = Math.max(maxX, verts[o + v]);
+            minY = Math.min(minY, verts[o + v + 1]); maxY = Math.max(maxY, verts[o + v + 1]);
+        }
+        int cx0 = MathUtils.floor(minX / MARK_CELL), cx1 = MathUtils.floor(maxX / MARK_CELL);
+        int cy0 = MathUtils.floor(minY / MARK_CELL), cy1 = MathUtils.floor(maxY / MARK_CELL);
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) marked.add(cellKey(cx, cy));
+        }
+    }
+
+    private static int cellKey(int cx, int cy) { return (cx << 16) | (cy & 0xffff); }
+
+    /** Draw every queued sprite in sorted order (batch must be begun), then clear the queue. */
+    public void replay(SpriteBatch batch) {
+        finishBuild();
+        Texture last = null;
+        int switches = 0;
+        for (int i = 0; i < count; i++) {
+            int idx = (int)(keys[i] & (MAX_COMMANDS - 1));
+            Texture tex = textures[idx];
+            if (tex != last) { switches++; last = tex; }
+            batch.draw(tex, verts, idx * VERTS, VERTS);
+        }
+        lastCommands = count;
+        lastTextureSwitches = switches;
+        count = 0;
+    }
+
+    public int getLastCommandCount() { return lastCommands; }
+    public int getLastTextureSwitches() { return lastTextureSwitches; }
+
+    private void finishBuild() {
+        if (building != null) { building.get(); building = null; }
+    }
+
+    // layer | y band (inverted) | texture | command index
+    private static long key(int layer, float sortY, int texId, int index) {
+        long band = (long)Math.floor(sortY / Y_BAND) + (Y_MAX >> 1);
+        band = Math.max(0, Math.min(Y_MAX, band));
+        long y = Y_MAX - band; // higher Y sorts first
+        return ((long)layer << (Y_BITS + TEX_BITS + INDEX_BITS))
+            | (y << (TEX_BITS + INDEX_BITS))
+            | ((long)texId << INDEX_BITS)
+            | index;
+    }
+
+    private int textureId(Texture tex) {
+        int id = textureIds.get(tex, -1);
+        if (id < 0) {
+            // ids only group draws; if they ever run out, start over
+            if (textureIds.size == 1 << TEX_BITS) textureIds.clear();
+            id = textureIds.size;
+            textureIds.put(tex, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= keys.length) return;
+        int cap = Math.min(MAX_COMMANDS, Math.max(n, keys.length * 2));
+        verts = Arrays.copyOf(verts, cap * VERTS);
+        textures = Arrays.copyOf(textures, cap);
+        keys = Arrays.copyOf(keys, cap);
+    }
+
+    @Override
+    public void dispose() {
+        finishBuild();
+        executor.dispose();
+        Arrays.fill(textures, null);
+        textureIds.clear();
+    }
+}
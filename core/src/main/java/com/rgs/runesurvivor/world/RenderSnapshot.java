@@ -0,0 +1,82 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+import java.util.Arrays;
+
+/**
+ * Everything the render thread draws from the simulation, copied at the end of a batch of steps.
+ * {@link Simulation} keeps two: the simulation thread fills the back one while the render thread
+ * reads the front one, and they swap at the frame hand-off, so neither side ever waits on a lock.
+ * Positions come in pairs (previous / current step) and are blended by {@link #alpha}.
+ */
+public final class RenderSnapshot implements HitMarkerSink {
+
+    public float alpha = 1f;          // banked fraction of a step at capture time
+    public long appliedCommands;      // commands run by the simulation so far (see Simulation#post)
+
+    // ---- player ----
+    public float playerPrevX, playerPrevY, playerX, playerY;
+    public boolean facingRight = true;
+    public boolean swordEquipped, attacking, swingFacingRight, dashing;
+    public float bladeRad, bladeDeg;  // sword angle around the player / sprite rotation while swinging
+    public float hp, maxHp = 1f;
+    public int gold;
+
+    // ---- enemies (on screen, alive) ----
+    public int enemyCount;
+    public float[] enemyPrevX = new float[64], enemyPrevY = new float[64];
+    public float[] enemyX = new float[64], enemyY = new float[64];
+    public byte[] enemyAtkState = new byte[64];
+    public float[] enemyAtkTimer = new float[64], enemyAtkAim = new float[64];
+
+    // ---- coins ----
+    public int coinCount;
+    public float[] coinX = new float[32], coinY = new float[32];
+
+    // ---- one-shot effects raised during the batch (the render thread consumes them once) ----
+    public static final class Marker {
+        public final float x, y, life;
+        public final String text;
+        public final Color color;
+        Marker(float x, float y, String text, Color color, float life) {
+            this.x = x; this.y = y; this.text = text; this.color = color; this.life = life;
+        }
+    }
+    public final Array<Marker> markers = new Array<>(false, 16);
+    public final FloatArray dashWaves = new FloatArray();    // x,y pairs
+
+    @Override
+    public void spawn(float x, float y, String text, Color color, float life) {
+        markers.add(new Marker(x, y, text, color, life));
+    }
+
+    public void clearEvents() {
+        markers.clear();
+        dashWaves.clear();
+    }
+
+    public float playerDrawX() { return playerPrevX + (playerX - playerPrevX) * alpha; }
+    public float playerDrawY() { return playerPrevY + (playerY - playerPrevY) * alpha; }
+    public float enemyDrawX(int i) { return enemyPrevX[i] + (enemyX[i] - enemyPrevX[i]) * alpha; }
+    public float enemyDrawY(int i) { return enemyPrevY[i] + (enemyY[i] - enemyPrevY[i]) * alpha; }
+
+    /** Room for {@code n} enemies (capture side). */
+    public void ensureEnemies(int n) {
+        if (enemyX.length >= n) return;
+        int cap = Math.max(n, enemyX.length * 2);
+        enemyPrevX = Arrays.copyOf(enemyPrevX, cap); enemyPrevY = Arrays.copyOf(enemyPrevY, cap);
+        enemyX = Arrays.copyOf(enemyX, cap); enemyY = Arrays.copyOf(enemyY, cap);
+        enemyAtkState = Arrays.copyOf(enemyAtkState, cap);
+        enemyAtkTimer = Arrays.copyOf(enemyAtkTimer, cap); enemyAtkAim = Arrays.copyOf(enemyAtkAim, cap);
+    }
+
+    /** Room for {@code n} coins (capture side). */
+    public void ensureCoins(int n) {
+        if (coinX.length >= n) return;
+        int cap = Math.max(n, coinX.length * 2);
+        coinX = Arrays.copyOf(coinX, cap); coinY = Arrays.copyOf(coinY, cap);
+    }
+}
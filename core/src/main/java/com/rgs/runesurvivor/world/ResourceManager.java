@@ -2,13 +2,18 @@ package com.rgs.runesurvivor.world;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
 
 public class ResourceManager implements Disposable {
 
@@ -16,13 +21,15 @@ public class ResourceManager implements Disposable {
 
     public static class Node {
         public final NodeKind kind;
+        public final int variant;    // texture index within the kind
         public final Vector2 pos = new Vector2();
         public final float radius;   // collider radius (world units)
         public final Sprite sprite;
         public final Body body;      // static circle collider
 
-        Node(NodeKind kind, float x, float y, float radius, Sprite sprite, Body body) {
+        Node(NodeKind kind, int variant, float x, float y, float radius, Sprite sprite, Body body) {
             this.kind = kind;
+            this.variant = variant;
             this.pos.set(x, y);
             this.radius = radius;
             this.sprite = sprite;
@@ -30,6 +37,7 @@ public class ResourceManager implements Disposable {
 
             this.sprite.setOriginCenter();
             this.sprite.setPosition(x - sprite.getWidth() * 0.5f, y - sprite.getHeight() * 0.5f);
+            this.sprite.getVertices(); // computed now, so the cache and the render queue's worker only read them
         }
     }
 
@@ -37,36 +45,105 @@ public class ResourceManager implements Disposable {
     private final World world;
     private final Array<Node> nodes = new Array<>();
 
-    // Textures
-    private final Texture[] treeTex = new Texture[3];
-    private final Texture[] rockTex = new Texture[6];
+    // Static draw: nodes bucketed by terrain chunk, each bucket compiled into one SpriteCache cache
+    private static class NodeChunk {
+        final Array<Node> nodes = new Array<>(false, 16);
+        float minX, minY, maxX, maxY;   // sprite bounds of the bucket
+        int cacheId = -1;
+        int capacity;                   // sprites the cache was first compiled with
+        boolean dirty;
+    }
+    private final LongMap<NodeChunk> nodeChunks = new LongMap<>();
+    private final Array<NodeChunk> dirtyChunks = new Array<>(false, 16);
+    private SpriteCache spriteCache;    // built on the first render (GL thread)
+    private final float chunkWorld;
+
+    // Textures (shared by every island's manager; loaded by the first, freed by the last)
+    private static final int TREE_VARIANTS = 3, ROCK_VARIANTS = 6;
+    private static final Texture[] treeTex = new Texture[TREE_VARIANTS];
+    private static final Texture[] rockTex = new Texture[ROCK_VARIANTS];
+    private static int textureUsers = 0;
+    private boolean disposed;
 
     // Visual size (world units)
-    private final float treeSize = 220f;
-    private final float rockSize = 160f;
+    private static final float TREE_SIZE = 220f;
+    private static final float ROCK_SIZE = 160f;
 
     // Overlap buffer (extra spacing beyond radius sum)
-    private final float overlapBuffer = 8f;
+    private static final float OVERLAP_BUFFER = 8f;
 
     // Spawn density (scaled by island area) – tweak to taste
     // For a ~20,480 x 20,480 world, this yields ~40 trees and ~60 rocks (much more than 3/6).
-    private final float treePerUnits2 = 1f / 10_000_000f; // 1 per 10M u^2
-    private final float rockPerUnits2 = 1f / 7_000_000f;  // 1 per 7M u^2
-    private final int minTrees = 12, minRocks = 24;
+    private static final float TREE_PER_UNITS2 = 1f / 10_000_000f; // 1 per 10M u^2
+    private static final float ROCK_PER_UNITS2 = 1f / 7_000_000f;  // 1 per 7M u^2
+    private static final int MIN_TREES = 12, MIN_ROCKS = 24;
 
     private static final float COLLIDER_SCALE = 0.95f; // 5% smaller colliders
 
     public ResourceManager(IslandRenderer island, long islandSeed, World world) {
+        this(island, islandSeed, world, null);
+    }
+
+    /** @param cache if non-null, the node layout is read from it instead of being generated */
+    public ResourceManager(IslandRenderer island, long islandSeed, World world, TerrainCache cache) {
+        this(island, world, cache != null ? readLayout(island, cache) : generateLayout(island, islandSeed));
+    }
+
+    /**
+     * Sprites and colliders for a layout made by {@link #generateLayout} / {@link #readLayout}
+     * (GL + Box2D: main thread, world idle).
+     */
+    public ResourceManager(IslandRenderer island, World world, float[] layout) {
         this.island = island;
         this.world = world;
+        this.chunkWorld = TerrainGenerator.CHUNK * island.getCellSize();
 
-        for (int i = 0; i < 3; i++) treeTex[i] = new Texture("tree" + (i+1) + ".png");
-        for (int i = 0; i < 6; i++) rockTex[i] = new Texture("rock" + (i+1) + ".png");
+        if (textureUsers++ == 0) {
+            for (int i = 0; i < TREE_VARIANTS; i++) treeTex[i] = new Texture("tree" + (i+1) + ".png");
+            for (int i = 0; i < ROCK_VARIANTS; i++) rockTex[i] = new Texture("rock" + (i+1) + ".png");
+        }
 
-        generateNodesDeterministic(islandSeed);
+        NodeKind[] kinds = NodeKind.values();
+        for (int o = 0; o + 4 < layout.length; o += 5) {
+            addNode(kinds[(int)layout[o]], (int)layout[o + 1], layout[o + 2], layout[o + 3], layout[o + 4]);
+        }
     }
 
-    private void generateNodesDeterministic(long seed) {
+    /** Same nodes as generateLayout produced when the cache was written (kind, variant, x, y, radius per node). */
+    public static float[] readLayout(IslandRenderer island, TerrainCache cache) {
+        float minX = island.getWorldMinX(), minY = island.getWorldMinY();
+        float[] out = new float[cache.getNodeCount() * 5];
+        for (int i = 0; i < cache.getNodeCount(); i++) {
+            int o = i * 5;
+            out[o] = cache.nodeKind(i);
+            out[o + 1] = cache.nodeVariant(i);
+            out[o + 2] = minX + cache.nodeX(i);
+            out[o + 3] = minY + cache.nodeY(i);
+            out[o + 4] = cache.nodeRadius(i);
+        }
+        return out;
+    }
+
+    // Terrain predicates
+    private interface TerrainFilter { boolean ok(IslandRenderer.TerrainType t); }
+    private static final TerrainFilter TREE_OK = (tt) ->   // GRASS or DIRT
+        tt == IslandRenderer.TerrainType.GRASS || tt == IslandRenderer.TerrainType.DIRT;
+    private static final TerrainFilter ROCK_OK = (tt) ->   // anywhere except BEACH/WATER
+        tt != IslandRenderer.TerrainType.BEACH && tt != IslandRenderer.TerrainType.WATER;
+
+    // Poisson-disk sampling (Bridson)
+    private static final int   POISSON_TRIES = 30;     // darts per active point
+    private static final float MAXIMAL_FILL  = 0.70f;  // points per d^2 in a maximal disk set (~0.7 / d^2)
+    private static final float SLACK         = 1.25f;  // sample this many more points than needed, then thin
+    private static final int   LAND_SAMPLES  = 64;     // per-axis samples for the land-area estimate
+
+    /**
+     * Blue-noise layout: a maximal Poisson-disk set over the land (Bridson, with a background grid so
+     * each dart checks a few cells instead of every node), then a seeded shuffle thins it to the wanted
+     * counts. Linear in island area; deterministic from the seed. Only reads terrain, so it can run on
+     * a worker before the island is shown. Returns kind, variant, x, y, radius per node.
+     */
+    public static float[] generateLayout(IslandRenderer island, long seed) {
         RandomXS128 rng = new RandomXS128(seed ^ 0xD1B54A32D192ED03L);
 
         float minX = island.getWorldMinX();
@@ -75,88 +152,198 @@ public class ResourceManager implements Disposable {
         float h = island.getWorldHeight();
         float area = w * h;
 
-        int treeCount = Math.max(minTrees, Math.round(area * treePerUnits2));
-        int rockCount = Math.max(minRocks, Math.round(area * rockPerUnits2));
-
-        // ---- Trees: GRASS or DIRT
-        for (int t = 0; t < treeCount; t++) {
-            placeNode(rng, NodeKind.TREE, minX, minY, w, h, (tt) ->
-                tt == IslandRenderer.TerrainType.GRASS || tt == IslandRenderer.TerrainType.DIRT
-            );
+        int treeCount = Math.max(MIN_TREES, Math.round(area * TREE_PER_UNITS2));
+        int rockCount = Math.max(MIN_ROCKS, Math.round(area * ROCK_PER_UNITS2));
+        float treeR = TREE_SIZE * 0.42f * COLLIDER_SCALE;
+        float rockR = ROCK_SIZE * 0.40f * COLLIDER_SCALE;
+
+        // ---- 1) spacing from the wanted density over the land (never closer than the colliders allow) ----
+        float land = estimateLandArea(island, minX, minY, w, h);
+        FloatArray out = new FloatArray();
+        if (land <= 0f) return out.toArray();
+        float spacing = (float)Math.sqrt(MAXIMAL_FILL * land / (SLACK * (treeCount + rockCount)));
+
+        PoissonSet set = new PoissonSet(minX, minY, w, h, spacing, treeR, rockR, OVERLAP_BUFFER,
+            treeCount / (float)(treeCount + rockCount));
+
+        // ---- 2) sweep the background grid so every separate land mass gets a seed, and grow from each ----
+        for (int gy = 0; gy < set.gh; gy++) {
+            for (int gx = 0; gx < set.gw; gx++) {
+                if (set.grid[gy * set.gw + gx] != 0) continue;
+                float x = minX + (gx + rng.nextFloat()) * set.cell;
+                float y = minY + (gy + rng.nextFloat()) * set.cell;
+                if (set.tryAdd(island, rng, x, y)) set.grow(island, rng);
+            }
         }
 
-        // ---- Rocks: anywhere except BEACH/WATER
-        for (int r = 0; r < rockCount; r++) {
-            placeNode(rng, NodeKind.ROCK, minX, minY, w, h, (tt) ->
-                tt != IslandRenderer.TerrainType.BEACH && tt != IslandRenderer.TerrainType.WATER
-            );
+        // ---- 3) thin to the wanted counts in seeded-shuffle order ----
+        int n = set.xs.size;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = order[i]; order[i] = order[j]; order[j] = t;
         }
+        int trees = 0, rocks = 0;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            boolean tree = set.kinds.get(i) == 0;
+            if (tree ? trees >= treeCount : rocks >= rockCount) continue;
+            if (tree) trees++; else rocks++;
+
+            float x = set.xs.get(i), y = set.ys.get(i);
+            NodeKind kind = tree ? NodeKind.TREE : NodeKind.ROCK;
+            int variant = variantIndex(x, y, rng, tree ? TREE_VARIANTS : ROCK_VARIANTS);
+            out.add(kind.ordinal(), variant, x, y);
+            out.add(tree ? treeR : rockR);
+        }
+        // Fewer spots than wanted (tiny island / very high density): we keep what fits.
+        return out.toArray();
     }
 
-    // Terrain predicate
-    private interface TerrainFilter { boolean ok(IslandRenderer.TerrainType t); }
+    // Rock-eligible land area from a coarse sample grid
+    private static float estimateLandArea(IslandRenderer island, float minX, float minY, float w, float h) {
+        int landSamples = 0;
+        for (int sy = 0; sy < LAND_SAMPLES; sy++) {
+            for (int sx = 0; sx < LAND_SAMPLES; sx++) {
+                float x = minX + (sx + 0.5f) * w / LAND_SAMPLES;
+                float y = minY + (sy + 0.5f) * h / LAND_SAMPLES;
+                if (ROCK_OK.ok(island.getTerrainAtWorld(x, y))) landSamples++;
+            }
+        }
+        return w * h * landSamples / (float)(LAND_SAMPLES * LAND_SAMPLES);
+    }
 
-    private void placeNode(RandomXS128 rng, NodeKind kind, float minX, float minY, float w, float h, TerrainFilter filter) {
-        final int MAX_TRIES = 12000;
+    /**
+     * Poisson-disk point set with per-kind radii: two points are at least
+     * max(spacing, rA + rB + buffer) apart. The grid cell is sized so a cell holds at most one point.
+     */
+    private static class PoissonSet {
+        final float minX, minY, w, h;
+        final float spacing, treeR, rockR, buffer, treeShare;
+        final float cell;
+        final int gw, gh;
+        final int[] grid;                           // point index + 1, 0 = empty
+        final FloatArray xs = new FloatArray(), ys = new FloatArray();
+        final ByteArray kinds = new ByteArray();    // 0 = tree, 1 = rock
+        final IntArray active = new IntArray();
+
+        PoissonSet(float minX, float minY, float w, float h, float spacing,
+                   float treeR, float rockR, float buffer, float treeShare) {
+            this.minX = minX; this.minY = minY; this.w = w; this.h = h;
+            this.treeR = treeR; this.rockR = rockR; this.buffer = buffer; this.treeShare = treeShare;
+            float minSep = 2f * Math.min(treeR, rockR) + buffer;
+            this.spacing = Math.max(spacing, minSep);
+            this.cell = this.spacing / (float)Math.sqrt(2);
+            this.gw = Math.max(1, (int)Math.ceil(w / cell));
+            this.gh = Math.max(1, (int)Math.ceil(h / cell));
+            this.grid = new int[gw * gh];
+        }
 
-        for (int tries = 0; tries < MAX_TRIES; tries++) {
-            float x = minX + rng.nextFloat() * w;
-            float y = minY + rng.nextFloat() * h;
+        float radius(int kind) { return kind == 0 ? treeR : rockR; }
 
+        // Pick a kind the terrain allows, then accept if nothing is too close.
+        boolean tryAdd(IslandRenderer island, RandomXS128 rng, float x, float y) {
+            if (x < minX || y < minY || x >= minX + w || y >= minY + h) return false;
             IslandRenderer.TerrainType tt = island.getTerrainAtWorld(x, y);
-            if (!filter.ok(tt)) continue;
-
-            // Pick sprite + radius
-            Sprite sprite;
-            float size, radius;
-            if (kind == NodeKind.TREE) {
-                int idx = variantIndex(x, y, rng, treeTex.length);
-                sprite = new Sprite(treeTex[idx]);
-                size = treeSize;
-                radius = size * 0.42f * COLLIDER_SCALE;
-            } else {
-                int idx = variantIndex(x, y, rng, rockTex.length);
-                sprite = new Sprite(rockTex[idx]);
-                size = rockSize;
-                radius = size * 0.40f * COLLIDER_SCALE;
+            boolean treeOk = TREE_OK.ok(tt), rockOk = ROCK_OK.ok(tt);
+            if (!treeOk && !rockOk) return false;
+            int kind = treeOk && (!rockOk || rng.nextFloat() < treeShare) ? 0 : 1;
+            float r = radius(kind);
+
+            int gx = (int)((x - minX) / cell), gy = (int)((y - minY) / cell);
+            int reach = (int)Math.ceil(Math.max(spacing, r + Math.max(treeR, rockR) + buffer) / cell);
+            for (int cy = Math.max(0, gy - reach); cy <= Math.min(gh - 1, gy + reach); cy++) {
+                for (int cx = Math.max(0, gx - reach); cx <= Math.min(gw - 1, gx + reach); cx++) {
+                    int j = grid[cy * gw + cx] - 1;
+                    if (j < 0) continue;
+                    float need = Math.max(spacing, r + radius(kinds.get(j)) + buffer);
+                    float dx = x - xs.get(j), dy = y - ys.get(j);
+                    if (dx * dx + dy * dy < need * need) return false;
+                }
             }
-            sprite.setSize(size, size);
-
-            // Non-overlap vs existing nodes (circle test)
-            boolean ok = true;
-            for (int i = 0; i < nodes.size; i++) {
-                Node o = nodes.get(i);
-                float dx = x - o.pos.x, dy = y - o.pos.y;
-                float need = (radius + o.radius + overlapBuffer);
-                if (dx * dx + dy * dy < need * need) { ok = false; break; }
+
+            grid[gy * gw + gx] = xs.size + 1;
+            active.add(xs.size);
+            xs.add(x);
+            ys.add(y);
+            kinds.add((byte)kind);
+            return true;
+        }
+
+        // Bridson: darts in the [d, 2d] annulus around a random active point until none is left
+        void grow(IslandRenderer island, RandomXS128 rng) {
+            while (active.size > 0) {
+                int a = rng.nextInt(active.size);
+                int i = active.get(a);
+                float d = Math.max(spacing, radius(kinds.get(i)) + Math.min(treeR, rockR) + buffer);
+                boolean placed = false;
+                for (int t = 0; t < POISSON_TRIES && !placed; t++) {
+                    float ang = rng.nextFloat() * MathUtils.PI2;
+                    float dist = d * (1f + rng.nextFloat());
+                    placed = tryAdd(island, rng, xs.get(i) + MathUtils.cos(ang) * dist, ys.get(i) + MathUtils.sin(ang) * dist);
+                }
+                if (!placed) active.removeIndex(a); // unordered removal (swap with last)
             }
-            if (!ok) continue;
-
-            // Create static circle body (immovable collider)
-            BodyDef bd = new BodyDef();
-            bd.type = BodyDef.BodyType.StaticBody;
-            bd.position.set(x, y);
-            Body body = world.createBody(bd);
-
-            CircleShape cs = new CircleShape();
-            cs.setRadius(radius);
-
-            FixtureDef fd = new FixtureDef();
-            fd.shape = cs;
-            fd.density = 0f;
-            fd.friction = 0.9f;
-            fd.restitution = 0f;
-            body.createFixture(fd);
-            cs.dispose();
-
-            nodes.add(new Node(kind, x, y, radius, sprite, body));
-            return;
         }
-        // If we fail after many tries, we skip this node—density too high near-by; acceptable fallback.
+    }
+
+    // Sprite + static circle body for an accepted spot
+    private void addNode(NodeKind kind, int variant, float x, float y, float radius) {
+        float size = kind == NodeKind.TREE ? TREE_SIZE : ROCK_SIZE;
+        Sprite sprite = new Sprite((kind == NodeKind.TREE ? treeTex : rockTex)[variant]);
+        sprite.setSize(size, size);
+
+        // Create static circle body (immovable collider)
+        BodyDef bd = new BodyDef();
+        bd.type = BodyDef.BodyType.StaticBody;
+        bd.position.set(PhysicsScale.toMeters(x), PhysicsScale.toMeters(y));
+        Body body = world.createBody(bd);
+
+        CircleShape cs = new CircleShape();
+        cs.setRadius(PhysicsScale.toMeters(radius));
+
+        FixtureDef fd = new FixtureDef();
+        fd.shape = cs;
+        fd.density = 0f;
+        fd.friction = 0.9f;
+        fd.restitution = 0f;
+        CollisionLayers.apply(fd.filter, CollisionLayers.STATIC_NODE);
+        body.createFixture(fd);
+        cs.dispose();
+
+        Node node = new Node(kind, variant, x, y, radius, sprite, body);
+        nodes.add(node);
+        NodeChunk c = chunkFor(node, true);
+        c.nodes.add(node);
+        markDirty(c);
+    }
+
+    /** Remove a node (destroys its collider) and recompile its chunk's cache on the next render. */
+    public void removeNode(Node n) {
+        if (!nodes.removeValue(n, true)) return;
+        if (n.body != null && n.body.getWorld() != null) n.body.getWorld().destroyBody(n.body);
+        NodeChunk c = chunkFor(n, false);
+        if (c != null && c.nodes.removeValue(n, true)) markDirty(c);
+    }
+
+    private NodeChunk chunkFor(Node n, boolean create) {
+        int cx = (int)Math.floor((n.pos.x - island.getWorldMinX()) / chunkWorld);
+        int cy = (int)Math.floor((n.pos.y - island.getWorldMinY()) / chunkWorld);
+        long key = TerrainGenerator.chunkKey(cx, cy);
+        NodeChunk c = nodeChunks.get(key);
+        if (c == null && create) nodeChunks.put(key, c = new NodeChunk());
+        return c;
+    }
+
+    private void markDirty(NodeChunk c) {
+        if (c.dirty) return;
+        c.dirty = true;
+        dirtyChunks.add(c);
     }
 
     // Deterministic variant index from position + seed; does not advance rng
-    private int variantIndex(float x, float y, RandomXS128 rng, int modulo) {
+    private static int variantIndex(float x, float y, RandomXS128 rng, int modulo) {
         long bits = (long)Float.floatToIntBits(x) * 73856093L
             ^ (long)Float.floatToIntBits(y) * 19349663L
             ^ rng.getState(0);
@@ -164,8 +351,93 @@ public class ResourceManager implements Disposable {
         return (int)(bits % modulo);
     }
 
-    public void render(SpriteBatch batch) {
-        for (int i = 0; i < nodes.size; i++) nodes.get(i).sprite.draw(batch);
+    // ---------- Render ----------
+
+    /**
+     * Static layer: every visible chunk's cache, drawn after the terrain and before the render queue
+     * (call outside SpriteBatch begin/end). Cost depends on the visible chunks, not the node count.
+     */
+    public void render(Matrix4 projection, float viewMinX, float viewMinY, float viewMaxX, float viewMaxY) {
+        if (nodes.size == 0 && spriteCache == null) return;
+        compileDirty();
+
+        spriteCache.setProjectionMatrix(projection);
+        spriteCache.begin();
+        for (NodeChunk c : nodeChunks.values()) {
+            if (c.nodes.size == 0 || !visible(c, viewMinX, viewMinY, viewMaxX, viewMaxY)) continue;
+            spriteCache.draw(c.cacheId);
+        }
+        spriteCache.end();
+    }
+
+    /**
+     * Y-sort fix-up for the cached layer: re-queue only the visible nodes that share space with
+     * something already in the queue (submit after the characters), so they're redrawn in Y order.
+     * Called on the render queue's worker while {@link #render} may be iterating on the GL thread,
+     * hence its own iterator.
+     */
+    public void submit(RenderQueue queue, float viewMinX, float viewMinY, float viewMaxX, float viewMaxY) {
+        for (NodeChunk c : new LongMap.Values<>(nodeChunks)) {
+            if (c.nodes.size == 0 || !visible(c, viewMinX, viewMinY, viewMaxX, viewMaxY)) continue;
+            for (int i = 0; i < c.nodes.size; i++) {
+                Sprite s = c.nodes.get(i).sprite;
+                if (queue.overlapsSubmitted(s.getX(), s.getY(), s.getX() + s.getWidth(), s.getY() + s.getHeight())) {
+                    queue.submitStatic(RenderQueue.LAYER_WORLD, c.nodes.get(i).pos.y, s);
+                }
+            }
+        }
+    }
+
+    private static boolean visible(NodeChunk c, float minX, float minY, float maxX, float maxY) {
+        return c.maxX >= minX && c.minX <= maxX && c.maxY >= minY && c.minY <= maxY;
+    }
+
+    /**
+     * (Re)compile dirty buckets; a bucket that outgrew its cache forces a full rebuild. GL thread,
+     * before the render queue is built: it rewrites the bucket bounds {@link #submit} reads.
+     */
+    public void compileDirty() {
+        if (nodes.size == 0 && spriteCache == null) return;
+        if (spriteCache == null) {
+            spriteCache = new SpriteCache(Math.max(1, nodes.size), false);
+            for (NodeChunk c : nodeChunks.values()) compile(c, false);
+            dirtyChunks.clear();
+            return;
+        }
+        for (int i = 0; i < dirtyChunks.size; i++) {
+            if (dirtyChunks.get(i).nodes.size > dirtyChunks.get(i).capacity) { rebuildCaches(); return; }
+        }
+        for (int i = 0; i < dirtyChunks.size; i++) compile(dirtyChunks.get(i), true);
+        dirtyChunks.clear();
+    }
+
+    private void rebuildCaches() {
+        spriteCache.dispose();
+        spriteCache = null;
+        for (NodeChunk c : nodeChunks.values()) { c.cacheId = -1; c.capacity = 0; }
+        compileDirty();
+    }
+
+    private void compile(NodeChunk c, boolean reuse) {
+        c.dirty = false;
+        c.minX = c.minY = Float.MAX_VALUE;
+        c.maxX = c.maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < c.nodes.size; i++) {
+            Sprite s = c.nodes.get(i).sprite;
+            c.minX = Math.min(c.minX, s.getX());
+            c.minY = Math.min(c.minY, s.getY());
+            c.maxX = Math.max(c.maxX, s.getX() + s.getWidth());
+            c.maxY = Math.max(c.maxY, s.getY() + s.getHeight());
+        }
+        if (c.nodes.size == 0) return; // nothing to draw; keep the old cache id for reuse
+
+        // higher Y first, like the queue, so overlapping nodes in the cache are ordered too
+        c.nodes.sort((a, b) -> Float.compare(b.pos.y, a.pos.y));
+        if (reuse && c.cacheId >= 0) spriteCache.beginCache(c.cacheId); // only ever shrinks
+        else spriteCache.beginCache();
+        for (int i = 0; i < c.nodes.size; i++) spriteCache.add(c.nodes.get(i).sprite);
+        int id = spriteCache.endCache();
+        if (c.cacheId < 0) { c.cacheId = id; c.capacity = c.nodes.size; }
     }
 
     public Array<Node> getNodes() { return nodes; }
@@ -177,8 +449,15 @@ public class ResourceManager implements Disposable {
             if (n.body != null && n.body.getWorld() != null) n.body.getWorld().destroyBody(n.body);
         }
         nodes.clear();
-
-        for (Texture t : treeTex) if (t != null) t.dispose();
-        for (Texture t : rockTex) if (t != null) t.dispose();
+        nodeChunks.clear();
+        dirtyChunks.clear();
+        if (spriteCache != null) { spriteCache.dispose(); spriteCache = null; }
+
+        if (disposed) return;
+        disposed = true;
+        if (--textureUsers == 0) {
+            for (int i = 0; i < treeTex.length; i++) if (treeTex[i] != null) { treeTex[i].dispose(); treeTex[i] = null; }
+            for (int i = 0; i < rockTex.length; i++) if (rockTex[i] != null) { rockTex[i].dispose(); rockTex[i] = null; }
+        }
     }
 }
@@ -0,0 +1,187 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.rgs.runesurvivor.entities.Player;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gameplay on its own thread. Each frame the render thread calls {@link #sync} (wait for the batch
+ * started last frame, publish its {@link RenderSnapshot}) and then {@link #start} (bank the frame time
+ * and run the due fixed steps on the simulation thread while the frame is drawn from the snapshot).
+ * <p>
+ * Between the two calls the world is idle: that window is where the render thread may still touch it
+ * (terrain streaming creates water colliders, saves read the player). Anything else that changes
+ * gameplay state from the UI goes through {@link #post} and runs on the simulation thread at the start
+ * of the next batch. Without a thread (single core, web, or Box2D debug drawing, which reads the
+ * world while drawing) the batch runs inline inside {@link #start}.
+ */
+public class Simulation implements Disposable {
+
+    /** Render-thread input for one batch (edge-triggered presses stay latched until a step uses them). */
+    public static final class Input {
+        public float moveX, moveY;
+        public float mouseX, mouseY;       // world units
+        public float viewWidth, viewHeight;
+        public boolean dashPressed, attackPressed, attackHeld;
+    }
+
+    private final WorldManager worldManager;
+    private final Player player;
+    private final EnemyManager enemyManager;
+    private final CoinManager coinManager;
+
+    private final AsyncExecutor thread;          // null = always inline
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicLong posted = new AtomicLong();
+    private long applied;
+
+    private RenderSnapshot front = new RenderSnapshot(), back = new RenderSnapshot();
+    private AsyncResult<Void> running;
+
+    // batch state (simulation thread while a batch runs)
+    private final Input in = new Input();
+    private float batchDelta;
+    private boolean dashQueued, attackQueued;
+    private final Vector2 mouseWorld = new Vector2();
+    private final Vector2 playerPos = new Vector2();
+    private final Vector2 camCenter = new Vector2();
+    private final AsyncTask<Void> batchTask = () -> { runBatch(); return null; };
+
+    // stats (last batch)
+    private int lastSteps;
+    private long lastBatchNanos;
+
+    public Simulation(WorldManager worldManager, Player player, EnemyManager enemyManager,
+                      CoinManager coinManager, boolean threaded) {
+        this.worldManager = worldManager;
+        this.player = player;
+        this.enemyManager = enemyManager;
+        this.coinManager = coinManager;
+        this.thread = threaded ? new AsyncExecutor(1, "Simulation") : null;
+        capture(front);
+        capture(back);
+    }
+
+    /**
+     * Queue a gameplay change from the render thread (UI callbacks: potions, equip, respawn).
+     * @return ticket; the change is visible in a snapshot once its {@code appliedCommands} reaches it
+     */
+    public long post(Runnable command) {
+        commands.add(command);
+        return posted.incrementAndGet();
+    }
+
+    /** Render thread: hand over this frame's time and input, and run the batch (threaded unless {@code inline}). */
+    public void start(float frameDelta, Input frameInput, boolean inline) {
+        sync();
+        batchDelta = frameDelta;
+        copy(frameInput, in);
+        if (thread == null || inline) {
+            runBatch();
+            publish();
+        } else {
+            running = thread.submit(batchTask);
+        }
+    }
+
+    /** Render thread: wait for the batch in flight (if any) and make its snapshot the front one. */
+    public void sync() {
+        if (running == null) return;
+        running.get();          // rethrows a simulation exception on the render thread
+        running = null;
+        publish();
+    }
+
+    /** Latest published snapshot; render-thread owned until the next {@link #sync}/{@link #start}. */
+    public RenderSnapshot front() { return front; }
+
+    private void publish() {
+        RenderSnapshot t = front;
+        front = back;
+        back = t;
+    }
+
+    // ---- simulation thread ----
+
+    private void runBatch() {
+        long t0 = System.nanoTime();
+        back.clearEvents();
+
+        Runnable cmd;
+        while ((cmd = commands.poll()) != null) {
+            cmd.run();
+            applied++;
+        }
+
+        dashQueued |= in.dashPressed;
+        attackQueued |= in.attackPressed;
+        mouseWorld.set(in.mouseX, in.mouseY);
+        player.setMoveInput(in.moveX, in.moveY);
+
+        int steps = worldManager.accumulate(batchDelta);
+        for (int s = 0; s < steps; s++) step(WorldManager.STEP);
+        lastSteps = steps;
+
+        capture(back);
+        lastBatchNanos = System.nanoTime() - t0;
+    }
+
+    // One fixed step of gameplay: player input -> physics -> enemies -> sword -> pickups
+    private void step(float dt) {
+        if (dashQueued) {
+            dashQueued = false;
+            if (player.tryStartDash(mouseWorld)) {
+                Vector2 p = player.getPosition();
+                back.dashWaves.add(p.x, p.y);
+            }
+        }
+
+        player.beginStep();
+        player.update(dt);
+        worldManager.step();
+
+        // the camera follows the player, so its center for spawning/LOD is the player's position
+        playerPos.set(player.getPosition());
+        camCenter.set(playerPos);
+        enemyManager.update(dt, camCenter, playerPos, in.viewWidth, in.viewHeight, player, back);
+
+        player.updateCombat(dt, mouseWorld, attackQueued, in.attackHeld, enemyManager, back);
+        attackQueued = false;
+
+        coinManager.update(dt, player);
+    }
+
+    private void capture(RenderSnapshot s) {
+        s.alpha = worldManager.getAlpha();
+        s.appliedCommands = applied;
+        player.capture(s);
+        enemyManager.capture(s);
+        coinManager.capture(s);
+    }
+
+    private static void copy(Input from, Input to) {
+        to.moveX = from.moveX; to.moveY = from.moveY;
+        to.mouseX = from.mouseX; to.mouseY = from.mouseY;
+        to.viewWidth = from.viewWidth; to.viewHeight = from.viewHeight;
+        to.dashPressed = from.dashPressed;
+        to.attackPressed = from.attackPressed;
+        to.attackHeld = from.attackHeld;
+    }
+
+    public boolean isThreaded() { return thread != null; }
+    public int getLastSteps() { return lastSteps; }
+    public long getLastBatchNanos() { return lastBatchNanos; }
+
+    /** Finishes the batch in flight and stops the thread (before the world is torn down). */
+    @Override
+    public void dispose() {
+        sync();
+        if (thread != null) thread.dispose();
+    }
+}
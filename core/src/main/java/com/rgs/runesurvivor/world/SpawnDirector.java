@@ -0,0 +1,225 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.rgs.runesurvivor.entities.Enemy;
+
+/**
+ * Decides how many enemies to add and where, and adds them at a bounded cost per frame.
+ * <ul>
+ *   <li>Demand: a trickle toward the current global budget plus periodic waves; budget, wave size and
+ *       wave rate all ramp with time survived ({@link #getDifficulty}).</li>
+ *   <li>Spawn points are validated (land, away from the player) a few per frame ahead of need and kept
+ *       in a small buffer; a point is re-checked against the current view only when it's used.</li>
+ *   <li>Queued spawns come out a few per frame (count and time capped), and never into a region
+ *       that already holds its share of enemies, so a 1000-enemy wave turns into a steady stream.</li>
+ * </ul>
+ */
+public class SpawnDirector {
+
+    private final WorldTerrain island; // null = no water info, every point is land
+
+    // ---- demand ----
+    private int   maxEnemies     = 10;     // global budget once fully ramped
+    private float startFraction  = 0.5f;   // budget share at t=0
+    private float rampSeconds    = 180f;   // time for difficulty to go from 1 to 2 (and so on)
+    private float trickleInterval = 1.0f;  // seconds per trickle spawn at difficulty 1
+    private float waveInterval   = 30f;    // seconds between waves at difficulty 1
+    private float minWaveInterval = 8f;
+    private int   baseWaveSize   = 4;      // enemies per wave at difficulty 1
+
+    // ---- density / placement ----
+    private float regionSize      = 512f;  // side of a density region (world units)
+    private int   maxPerRegion    = 24;
+    private float minPlayerDistance = 150f;
+    private float minCenterDistance = 200f;
+
+    // ---- per-frame caps ----
+    private int  maxSpawnsPerFrame      = 4;
+    private long maxSpawnNanosPerFrame  = 500_000L;
+    private int  validationsPerFrame    = 4;   // candidate points tested per frame
+    private int  pointReserve           = 16;  // validated points kept ahead of the queue
+    private static final int SNAP_RADIUS_CELLS = 1024;
+    private static final int FALLBACK_EVERY = 32; // failed candidates before trying land at the view center
+
+    private float elapsed, trickleTimer, waveTimer;
+    private int queued;                   // spawns owed, not yet placed
+    private int waves;
+
+    // validated points (x,y pairs), used oldest first
+    private final FloatArray points = new FloatArray();
+    private int failedCandidates;
+
+    private final IntIntMap regionCount = new IntIntMap();
+    private final Vector2 candTmp = new Vector2();
+    private final Vector2 landTmp = new Vector2();
+
+    // stats (last update)
+    private int spawned, validated, rejected, deferredByDensity;
+    private long nanos;
+
+    public SpawnDirector(WorldTerrain island) {
+        this.island = island;
+    }
+
+    /**
+     * One frame: ramp, queue demand, validate a few points, place a few queued enemies.
+     * @param pool        bodies for new enemies; null = bodiless ({@link CrowdSolver})
+     * @param spawnRadius outer radius (around the camera) of the spawn ring
+     */
+    public void update(float delta, EnemyStore enemies, EnemyPool pool,
+                       Vector2 cameraCenter, Vector2 playerPos, float spawnRadius) {
+        long t0 = System.nanoTime();
+        spawned = validated = rejected = deferredByDensity = 0;
+        elapsed += delta;
+
+        // ---- 1) demand: trickle to the budget, plus waves on top ----
+        float difficulty = getDifficulty();
+        int budget = getBudget();
+        trickleTimer += delta;
+        if (trickleTimer >= trickleInterval / difficulty) {
+            trickleTimer = 0f;
+            if (enemies.size + queued < budget) queued++;
+        }
+        waveTimer += delta;
+        if (waveTimer >= Math.max(minWaveInterval, waveInterval / difficulty)) {
+            waveTimer = 0f;
+            int size = Math.round(baseWaveSize * difficulty);
+            int room = budget - enemies.size - queued;
+            if (room > 0) { queued += Math.min(size, room); waves++; }
+        }
+        queued = Math.min(queued, Math.max(0, budget - enemies.size)); // budget may have been lowered
+
+        // ---- 2) keep validated points ahead of need ----
+        int want = Math.min(queued, maxSpawnsPerFrame * 8) + pointReserve;
+        for (int k = 0; k < validationsPerFrame && points.size / 2 < want; k++) {
+            if (validateCandidate(cameraCenter, playerPos, spawnRadius)) {
+                points.add(candTmp.x, candTmp.y);
+                validated++;
+            }
+        }
+
+        // ---- 3) place queued enemies, capped per frame ----
+        if (queued > 0 && points.size > 0) {
+            countRegions(enemies);
+            float minD2 = minPlayerDistance * minPlayerDistance;
+            float maxC2 = spawnRadius * spawnRadius;
+            int head = 0;
+            while (queued > 0 && head < points.size && spawned < maxSpawnsPerFrame) {
+                float x = points.items[head], y = points.items[head + 1];
+                head += 2;
+                // the view moved since validation: the point must still be inside the ring
+                float c2 = cameraCenter.dst2(x, y);
+                if (c2 > maxC2 || playerPos.dst2(x, y) < minD2) { rejected++; continue; }
+                int region = regionKey(x, y);
+                int inRegion = regionCount.get(region, 0);
+                if (inRegion >= maxPerRegion) { deferredByDensity++; continue; }
+
+                if (pool != null) enemies.add(pool.obtain(x, y), Enemy.MAX_HP);
+                else enemies.add(x, y, Enemy.MAX_HP);
+                regionCount.put(region, inRegion + 1);
+                queued--;
+                spawned++;
+                if (System.nanoTime() - t0 > maxSpawnNanosPerFrame) break;
+            }
+            if (head > 0) points.removeRange(0, head - 1);
+        }
+        nanos = System.nanoTime() - t0;
+    }
+
+    // One random point in the ring, snapped to land; result in candTmp
+    private boolean validateCandidate(Vector2 center, Vector2 playerPos, float radius) {
+        float minD2 = minPlayerDistance * minPlayerDistance;
+        Vector2 pos = candTmp;
+        if (++failedCandidates >= FALLBACK_EVERY) {
+            // nothing in the ring so far (tiny island?): land nearest the view center, nudged off the player
+            pos.set(center);
+            if (island != null) island.findNearestLand(center.x, center.y, Integer.MAX_VALUE, pos);
+            if (pos.dst2(playerPos) < minD2) {
+                float ang = MathUtils.random(0f, MathUtils.PI2);
+                pos.add(MathUtils.cos(ang) * minPlayerDistance, MathUtils.sin(ang) * minPlayerDistance);
+            }
+            failedCandidates = 0;
+            return true;
+        }
+
+        float angle = MathUtils.random(0f, MathUtils.PI2);
+        float dist  = MathUtils.random(minCenterDistance, Math.max(minCenterDistance, radius));
+        pos.set(center.x + MathUtils.cos(angle) * dist, center.y + MathUtils.sin(angle) * dist);
+        if (pos.dst2(playerPos) < minD2) return false;
+        if (island == null || !island.isWaterWorld(pos.x, pos.y)) { failedCandidates = 0; return true; }
+
+        // snap to nearby land, re-checking the player distance
+        if (island.findNearestLand(pos.x, pos.y, SNAP_RADIUS_CELLS, landTmp)
+            && !island.isWaterWorld(landTmp.x, landTmp.y) && landTmp.dst2(playerPos) >= minD2) {
+            pos.set(landTmp);
+            failedCandidates = 0;
+            return true;
+        }
+        return false;
+    }
+
+    private void countRegions(EnemyStore s) {
+        regionCount.clear();
+        for (int i = 0; i < s.size; i++) regionCount.getAndIncrement(regionKey(s.x[i], s.y[i]), 0, 1);
+    }
+
+    // exact for |region| < 32768 on both axes (~16M world units at the default size)
+    private int regionKey(float x, float y) {
+        int rx = MathUtils.floor(x / regionSize), ry = MathUtils.floor(y / regionSize);
+        return (rx << 16) ^ (ry & 0xFFFF);
+    }
+
+    /** Restart the ramp (new game / respawn); queued spawns and stored points are dropped. */
+    public void reset() {
+        elapsed = trickleTimer = waveTimer = 0f;
+        queued = waves = 0;
+        points.clear();
+    }
+
+    /** 1 at the start, +1 every {@code rampSeconds}. */
+    public float getDifficulty() { return 1f + elapsed / rampSeconds; }
+
+    /** Global enemy budget right now (ramps from {@code startFraction} of the max to the max; 0 = spawning off). */
+    public int getBudget() {
+        if (maxEnemies == 0) return 0;
+        float f = Math.min(1f, startFraction + (1f - startFraction) * (elapsed / rampSeconds));
+        return Math.max(1, Math.round(maxEnemies * f));
+    }
+
+    public int getQueued() { return queued; }
+    public int getWaveCount() { return waves; }
+    public int getPointCount() { return points.size / 2; }
+    public int getSpawnedCount() { return spawned; }
+    public int getValidatedCount() { return validated; }
+    /** Stored points dropped because the view moved away from them. */
+    public int getRejectedCount() { return rejected; }
+    /** Stored points skipped because their region was full. */
+    public int getDensityDeferredCount() { return deferredByDensity; }
+    public long getLastNanos() { return nanos; }
+
+    // --- Tuners ---
+    public void setMaxEnemies(int n) { maxEnemies = Math.max(0, n); }
+    public void setBudgetRamp(float startFraction, float rampSeconds) {
+        this.startFraction = MathUtils.clamp(startFraction, 0f, 1f);
+        this.rampSeconds = Math.max(1f, rampSeconds);
+    }
+    public void setTrickleInterval(float s) { trickleInterval = Math.max(0.01f, s); }
+    public void setWaves(float interval, float minInterval, int baseSize) {
+        waveInterval = Math.max(0.1f, interval);
+        minWaveInterval = Math.max(0.1f, minInterval);
+        baseWaveSize = Math.max(0, baseSize);
+    }
+    public void setRegionBudget(float regionSize, int maxPerRegion) {
+        this.regionSize = Math.max(64f, regionSize);
+        this.maxPerRegion = Math.max(1, maxPerRegion);
+    }
+    public void setMinPlayerDistance(float d) { minPlayerDistance = Math.max(0f, d); }
+    public void setFrameCaps(int maxSpawns, long maxNanos, int validations) {
+        maxSpawnsPerFrame = Math.max(1, maxSpawns);
+        maxSpawnNanosPerFrame = Math.max(0L, maxNanos);
+        validationsPerFrame = Math.max(1, validations);
+    }
+}
@@ -0,0 +1,154 @@
+package com.rgs.runesurvivor.world;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Versioned on-disk copy of a generated island: packed terrain codes, the water contours of every
+ * chunk and the resource node layout. Keyed by seed, grid size and {@link TerrainGenerator#GEN_VERSION};
+ * re-entering a world skips noise, patch stamping, contour tracing and node placement.
+ * This class is only the layout: the {@link TerrainPlatform} stores it (a memory-mapped file on
+ * desktop / Android, nothing on the web).
+ *
+ * Layout (big-endian): header, codes (cols*rows bytes, row-major), chunk table (one int offset per
+ * chunk), chunk contour records, nodes. Contours are stored in cell units and nodes relative to the
+ * island's min corner, so the cache does not depend on where the island sits in the world.
+ * All reads are absolute, so the worker and the main thread can share one buffer.
+ */
+public class TerrainCache {
+
+    private static final int MAGIC = 0x52535443; // "RSTC"
+    public static final int FORMAT_VERSION = 1;
+
+    // header: magic, format, gen version, seed (long), cols, rows, cellWorld,
+    //         codes offset, chunk table offset, node offset, node count
+    private static final int HEADER_BYTES = 4 * 3 + 8 + 4 * 3 + 4 * 4;
+    private static final int NODE_BYTES = 4 * 4;  // kind|variant, x, y, radius
+
+    private final ByteBuffer buf;
+    private final int cols, rows, chunksX;
+    private final int codesOff, tableOff, nodesOff, nodeCount;
+
+    private TerrainCache(ByteBuffer buf, int cols, int rows) {
+        this.buf = buf;
+        this.cols = cols;
+        this.rows = rows;
+        this.chunksX = (cols + TerrainGenerator.CHUNK - 1) / TerrainGenerator.CHUNK;
+        this.codesOff  = buf.getInt(32);
+        this.tableOff  = buf.getInt(36);
+        this.nodesOff  = buf.getInt(40);
+        this.nodeCount = buf.getInt(44);
+    }
+
+    /** Read a stored cache; null if it is too short or stale (the caller regenerates). */
+    public static TerrainCache wrap(ByteBuffer buf, long seed, int cols, int rows, float cellWorld) {
+        if (buf == null || buf.capacity() < HEADER_BYTES) return null;
+        if (buf.getInt(0) != MAGIC
+            || buf.getInt(4) != FORMAT_VERSION
+            || buf.getInt(8) != TerrainGenerator.GEN_VERSION
+            || buf.getLong(12) != seed
+            || buf.getInt(20) != cols
+            || buf.getInt(24) != rows
+            || buf.getFloat(28) != cellWorld) return null;
+        return new TerrainCache(buf, cols, rows);
+    }
+
+    // ---------- Reads ----------
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    public byte code(int x, int y) { return buf.get(codesOff + y * cols + x); }
+
+    /** Whole grid, row-major. */
+    public void readCodes(byte[] out) {
+        ByteBuffer b = buf.duplicate();
+        b.position(codesOff);
+        b.get(out, 0, cols * rows);
+    }
+
+    /** Copy one chunk's codes in place of {@link TerrainGenerator#fill}. */
+    void readChunkCodes(TerrainChunk c) {
+        ByteBuffer b = buf.duplicate();
+        for (int y = 0; y < c.h; y++) {
+            b.position(codesOff + (c.y0 + y) * cols + c.x0);
+            b.get(c.codes, y * c.w, c.w);
+        }
+    }
+
+    /** A chunk's contours, converted to world units. */
+    WaterContourBuilder.Result readContours(int cx, int cy, float originX, float originY, float cellWorld) {
+        int p = buf.getInt(tableOff + (cy * chunksX + cx) * 4);
+        WaterContourBuilder.Result res = new WaterContourBuilder.Result();
+        res.unitEdges = buf.getInt(p);
+        res.segments  = buf.getInt(p + 4);
+        int loops     = buf.getInt(p + 8);
+        p += 12;
+        for (int l = 0; l < loops; l++) {
+            int n = buf.getInt(p);
+            p += 4;
+            float[] loop = new float[n];
+            for (int i = 0; i < n; i += 2, p += 8) {
+                loop[i]     = originX + buf.getFloat(p) * cellWorld;
+                loop[i + 1] = originY + buf.getFloat(p + 4) * cellWorld;
+            }
+            res.loops.add(loop);
+        }
+        return res;
+    }
+
+    public int getNodeCount() { return nodeCount; }
+    public int nodeKind(int i)    { return buf.getInt(nodesOff + i * NODE_BYTES) >>> 16; }
+    public int nodeVariant(int i) { return buf.getInt(nodesOff + i * NODE_BYTES) & 0xffff; }
+    public float nodeX(int i)      { return buf.getFloat(nodesOff + i * NODE_BYTES + 4); }
+    public float nodeY(int i)      { return buf.getFloat(nodesOff + i * NODE_BYTES + 8); }
+    public float nodeRadius(int i) { return buf.getFloat(nodesOff + i * NODE_BYTES + 12); }
+
+    // ---------- Write ----------
+
+    /**
+     * Lay out a cache, ready for {@link TerrainPlatform#writeCache} (position 0, limit = size).
+     * @param codes    cols*rows codes, row-major
+     * @param contours per chunk (cy * chunksX + cx), in cell units
+     * @param nodes    kind, variant, x, y, radius per node (x/y relative to the island min corner)
+     */
+    public static ByteBuffer encode(long seed, int cols, int rows, float cellWorld,
+                                    byte[] codes, WaterContourBuilder.Result[] contours, float[] nodes, int nodeCount) {
+        int contourBytes = 0;
+        for (WaterContourBuilder.Result r : contours) {
+            contourBytes += 12;
+            for (float[] loop : r.loops) contourBytes += 4 + loop.length * 4;
+        }
+        int codesOff = HEADER_BYTES;
+        int tableOff = codesOff + codes.length;
+        int recOff   = tableOff + contours.length * 4;
+        int nodesOff = recOff + contourBytes;
+
+        ByteBuffer b = ByteBuffer.allocate(nodesOff + nodeCount * NODE_BYTES);
+        b.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(TerrainGenerator.GEN_VERSION).putLong(seed)
+         .putInt(cols).putInt(rows).putFloat(cellWorld)
+         .putInt(codesOff).putInt(tableOff).putInt(nodesOff).putInt(nodeCount);
+        b.put(codes);
+
+        int p = recOff;
+        for (int i = 0; i < contours.length; i++) {
+            WaterContourBuilder.Result r = contours[i];
+            b.putInt(tableOff + i * 4, p);
+            b.putInt(p, r.unitEdges).putInt(p + 4, r.segments).putInt(p + 8, r.loops.size);
+            p += 12;
+            for (float[] loop : r.loops) {
+                b.putInt(p, loop.length);
+                p += 4;
+                for (float v : loop) { b.putFloat(p, v); p += 4; }
+            }
+        }
+
+        b.position(nodesOff);
+        for (int i = 0; i < nodeCount; i++) {
+            int o = i * 5;
+            b.putInt(((int)nodes[o] << 16) | ((int)nodes[o + 1] & 0xffff));
+            b.putFloat(nodes[o + 2]).putFloat(nodes[o + 3]).putFloat(nodes[o + 4]);
+        }
+        b.flip();
+        return b;
+    }
+}
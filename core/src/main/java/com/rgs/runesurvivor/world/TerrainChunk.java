@@ -0,0 +1,46 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * One fixed-size block of island cells: packed terrain codes + baked texture + water colliders.
+ * The CPU half (codes, pixmap, contours) can be built on a worker; the GL texture and the
+ * Box2D body are created on the main thread.
+ */
+class TerrainChunk {
+    final int cx, cy;   // chunk coords
+    final int x0, y0;   // first cell (grid coords)
+    final int w, h;     // cells (edge chunks may be smaller than CHUNK)
+
+    // Terrain data, row-major (local y * w + local x): one IslandRenderer.CODE_* byte per cell
+    final byte[] codes;
+    byte[] height8;     // optional 0..255 quantized height (null unless kept)
+
+    // worker output
+    Pixmap pixmap;                          // RGBA8888, row 0 = top
+    WaterContourBuilder.Result contours;
+
+    // main-thread resources
+    Texture texture;
+    Sprite sprite;
+    Body waterBody;              // chain loops for this chunk (null if no coast)
+    int waterEdges, waterSegments, waterLoops;
+
+    TerrainChunk(int cx, int cy, int cols, int rows) {
+        this.cx = cx;
+        this.cy = cy;
+        this.x0 = cx * TerrainGenerator.CHUNK;
+        this.y0 = cy * TerrainGenerator.CHUNK;
+        this.w = Math.min(TerrainGenerator.CHUNK, cols - x0);
+        this.h = Math.min(TerrainGenerator.CHUNK, rows - y0);
+
+        codes = new byte[w * h];
+    }
+
+    byte code(int gx, int gy) { return codes[(gy - y0) * w + (gx - x0)]; }
+
+    boolean isWater(int gx, int gy) { return IslandRenderer.isWater(code(gx, gy)); }
+}
@@ -0,0 +1,344 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Deterministic island terrain function. Height and patches are pure functions of (seed, cell),
+ * so chunks can be generated in any order (and on any thread), and cells that are not resident
+ * can still be classified. Immutable after construction, so queries need no locking.
+ */
+public class TerrainGenerator {
+
+    public static final int CHUNK = 64; // cells per chunk side
+
+    // Bump whenever terrain, patch or resource node output changes (invalidates TerrainCache files)
+    public static final int GEN_VERSION = 2;
+
+    // thresholds
+    public static final float WATER_T = 0.48f;
+    public static final float BEACH_T = 0.53f;
+    public static final float GRASS_T = 0.80f;
+
+    static final float DEEP_T   = 0.7f * WATER_T;  // darker water below this
+    static final float INLAND_T = BEACH_T + 0.01f; // safe spawn: a touch above beach
+
+    // Causeways: sand strips from the island center to the middle of a grid side, so a neighbouring
+    // island (whose grid touches this one) can be walked to. Bits of the bridges mask:
+    public static final int BRIDGE_EAST = 1, BRIDGE_WEST = 2, BRIDGE_NORTH = 4, BRIDGE_SOUTH = 8;
+    private static final int BRIDGE_HALF_WIDTH = 3;                  // cells either side of the center line
+    static final float BRIDGE_T = (WATER_T + BEACH_T) * 0.5f;        // beach: walkable, but not a spawn spot
+
+    // patches are only stamped well inside the grass band (not on edges)
+    static final float INNER_GRASS_LOW  = BEACH_T + 0.02f;
+    static final float INNER_GRASS_HIGH = GRASS_T - 0.03f;
+
+    // Height / mask params
+    private static final float FREQ = 0.0085f;
+    private static final int   OCTS = 4;
+    private static final float GAIN = 0.5f;
+    private static final float LAC  = 2.0f;
+    private static final float MASK_POWER = 1.6f;
+
+    private final int cols, rows;
+    private final int seed;
+    private final int bridges;
+
+    // Patch params (tiny radii in "pixel cells", density matching the old whole-island pass)
+    private final int minR, maxR;
+    private final float patchesPerGrassCell;
+    private static final int PATCH_SAMPLES = 8; // per-axis samples used to estimate a chunk's inner grass
+
+    // Patch centers per chunk (cy * chunksX + cx): cx,cy,r,type per patch (tiny; all built up front)
+    private final int chunksX, chunksY;
+    private final int[][] patches;
+    private static final int[] NO_PATCHES = new int[0];
+
+    // Runs the height pass (row bands on desktop, serial on the web)
+    private final TerrainPlatform platform;
+
+    public TerrainGenerator(int cols, int rows, int seed) {
+        this(cols, rows, seed, TerrainPlatform.SERIAL);
+    }
+
+    public TerrainGenerator(int cols, int rows, int seed, TerrainPlatform platform) {
+        this(cols, rows, seed, 0, platform);
+    }
+
+    /** @param bridges BRIDGE_* bits: sides that get a causeway to the neighbouring island */
+    public TerrainGenerator(int cols, int rows, int seed, int bridges, TerrainPlatform platform) {
+        this.cols = cols;
+        this.rows = rows;
+        this.seed = seed;
+        this.bridges = bridges;
+        this.platform = platform;
+
+        // Same patch count as before, spread over the inner grass; its area is estimated from a
+        // coarse sample grid so the cost doesn't grow with the island.
+        int area = cols * rows;
+        int numPatches = Math.max(120, area / 2200); // ~120–240 on 512x512
+        int samples = 0, inner = 0;
+        for (int sy = 0; sy < 128; sy++) {
+            for (int sx = 0; sx < 128; sx++) {
+                float v = heightAt(sx * cols / 128, sy * rows / 128);
+                if (v >= INNER_GRASS_LOW && v < INNER_GRASS_HIGH) inner++;
+                samples++;
+            }
+        }
+        float innerCells = Math.max(1f, area * inner / (float) samples);
+        patchesPerGrassCell = numPatches / innerCells;
+
+        minR = Math.max(2, Math.round(cols * 0.003f));       // ~2 on 512
+        maxR = Math.max(minR + 1, Math.round(cols * 0.010f)); // ~5 on 512
+
+        chunksX = (cols + CHUNK - 1) / CHUNK;
+        chunksY = (rows + CHUNK - 1) / CHUNK;
+        patches = new int[chunksX * chunksY][];
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) patches[cy * chunksX + cx] = buildPatches(cx, cy);
+        }
+    }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    public TerrainPlatform getPlatform() { return platform; }
+    public int getBridges() { return bridges; }
+
+    // ---------- Per-cell queries ----------
+
+    /** 0..1 height after the radial island mask. */
+    public float heightAt(int x, int y) {
+        float ny = (y / (float)rows - 0.5f) * 2f; // [-1,1]
+        float nx = (x / (float)cols - 0.5f) * 2f; // [-1,1]
+
+        float r = (float)Math.sqrt(nx*nx + ny*ny);
+        float mask = MathUtils.clamp(1f - (float)Math.pow(r, MASK_POWER), 0f, 1f);
+
+        float h = fbm(x * FREQ, y * FREQ, OCTS, GAIN, LAC); // [-1,1]
+        float v = MathUtils.clamp((h * 0.5f + 0.5f) * mask, 0f, 1f);
+        return bridges != 0 && v < BRIDGE_T && onBridge(x, y) ? BRIDGE_T : v;
+    }
+
+    private boolean onBridge(int x, int y) {
+        int dx = x - cols / 2, dy = y - rows / 2;
+        if (Math.abs(dy) <= BRIDGE_HALF_WIDTH) {
+            if (dx >= 0 && (bridges & BRIDGE_EAST) != 0) return true;
+            if (dx <= 0 && (bridges & BRIDGE_WEST) != 0) return true;
+        }
+        if (Math.abs(dx) <= BRIDGE_HALF_WIDTH) {
+            if (dy >= 0 && (bridges & BRIDGE_NORTH) != 0) return true;
+            if (dy <= 0 && (bridges & BRIDGE_SOUTH) != 0) return true;
+        }
+        return false;
+    }
+
+    /** Patch type at a cell of the given height: 0 = none, 1 = dirt, 2 = gravel. */
+    private byte patchAt(int x, int y, float height) {
+        if (height < INNER_GRASS_LOW || height >= INNER_GRASS_HIGH) return 0;
+        int ccx = x / CHUNK, ccy = y / CHUNK;
+        byte type = 0;
+        // same order as fill(): later patches win
+        for (int ny = ccy - 1; ny <= ccy + 1; ny++) {
+            for (int nx = ccx - 1; nx <= ccx + 1; nx++) {
+                int[] p = patchesForChunk(nx, ny);
+                for (int i = 0; i < p.length; i += 4) {
+                    int dx = x - p[i], dy = y - p[i + 1], r = p[i + 2];
+                    if (dx*dx + dy*dy <= r*r) type = (byte)p[i + 3];
+                }
+            }
+        }
+        return type;
+    }
+
+    /** Packed code before patches: type + deep/inland/inner-grass flags (see IslandRenderer.CODE_*). */
+    public static byte baseCode(float height) {
+        if (height < WATER_T) {
+            return (byte)(IslandRenderer.TerrainType.WATER.ordinal()
+                | (height < DEEP_T ? IslandRenderer.CODE_DEEP : 0));
+        }
+        // land a touch above beach is safe to spawn on (not right on the edge)
+        int inland = height >= INLAND_T ? IslandRenderer.CODE_INLAND : 0;
+        if (height < BEACH_T) return (byte)(IslandRenderer.TerrainType.BEACH.ordinal() | inland);
+        if (height < GRASS_T) {
+            int inner = (height >= INNER_GRASS_LOW && height < INNER_GRASS_HIGH) ? IslandRenderer.CODE_INNER : 0;
+            return (byte)(IslandRenderer.TerrainType.GRASS.ordinal() | inland | inner);
+        }
+        return (byte)(IslandRenderer.TerrainType.ROCK.ordinal() | inland);
+    }
+
+    // Replace the type bits of an inner-grass code with the patch type
+    private static byte withPatch(byte code, int patch) {
+        IslandRenderer.TerrainType t = patch == 1 ? IslandRenderer.TerrainType.DIRT : IslandRenderer.TerrainType.GRAVEL;
+        return (byte)((code & ~IslandRenderer.CODE_TYPE_MASK) | t.ordinal());
+    }
+
+    /** Final packed code of one cell, without building its chunk. */
+    public byte codeAt(int x, int y) {
+        float h = heightAt(x, y);
+        byte code = baseCode(h);
+        if ((code & IslandRenderer.CODE_INNER) == 0) return code;
+        byte patch = patchAt(x, y, h);
+        return patch == 0 ? code : withPatch(code, patch);
+    }
+
+    // ---------- Chunk fill ----------
+
+    /** Fill a chunk's packed codes (and optional quantized heights) and stamp the patches that reach into it. */
+    public void fill(TerrainChunk c, boolean keepHeights) {
+        // ---- 1) height & base classification (row bands where the platform has threads) ----
+        float[] heights = new float[c.w * c.h];
+        platform.fillHeightField(this, heights, c.codes, c.x0, c.y0, c.w, c.h);
+
+        if (keepHeights) {
+            c.height8 = new byte[heights.length];
+            for (int i = 0; i < heights.length; i++) c.height8[i] = (byte)Math.round(heights[i] * 255f);
+        }
+
+        // ---- 2) circular patches strictly inside the grass band (from this chunk and its neighbours) ----
+        for (int ny = c.cy - 1; ny <= c.cy + 1; ny++) {
+            for (int nx = c.cx - 1; nx <= c.cx + 1; nx++) {
+                int[] p = patchesForChunk(nx, ny);
+                for (int i = 0; i < p.length; i += 4) stampPatch(c, p[i], p[i + 1], p[i + 2], p[i + 3]);
+            }
+        }
+    }
+
+    private void stampPatch(TerrainChunk c, int pcx, int pcy, int r, int type) {
+        int x0 = Math.max(c.x0, pcx - r), x1 = Math.min(c.x0 + c.w - 1, pcx + r);
+        int y0 = Math.max(c.y0, pcy - r), y1 = Math.min(c.y0 + c.h - 1, pcy + r);
+        int r2 = r * r;
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                int dx = x - pcx, dy = y - pcy;
+                if (dx*dx + dy*dy > r2) continue;
+                int i = (y - c.y0) * c.w + (x - c.x0);
+                // Only stamp inside grass (prevents patches touching edges)
+                if ((c.codes[i] & IslandRenderer.CODE_INNER) != 0) c.codes[i] = withPatch(c.codes[i], type);
+            }
+        }
+    }
+
+    /** Final codes of the whole island, row-major (cols*rows), chunk by chunk. */
+    public void fillCodes(byte[] out) {
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                TerrainChunk c = new TerrainChunk(cx, cy, cols, rows);
+                fill(c, false);
+                for (int y = 0; y < c.h; y++) System.arraycopy(c.codes, y * c.w, out, (c.y0 + y) * cols + c.x0, c.w);
+            }
+        }
+    }
+
+    // ---------- Whole-window height field ----------
+
+    /**
+     * Heights and base codes (before patches) for a cell window, row-major.
+     * Single-threaded reference for the banded pass.
+     */
+    public void fillHeightField(float[] height, byte[] codes, int x0, int y0, int w, int h) {
+        fillRows(height, codes, x0, y0, w, 0, h);
+    }
+
+    /** Rows [r0, r1) of a {@code w}-wide window at (x0, y0); bands may run on any thread in any order. */
+    public void fillRows(float[] height, byte[] codes, int x0, int y0, int w, int r0, int r1) {
+        for (int y = r0; y < r1; y++) {
+            int off = y * w;
+            for (int x = 0; x < w; x++) {
+                float val = heightAt(x0 + x, y0 + y);
+                height[off + x] = val;
+                codes[off + x] = baseCode(val);
+            }
+        }
+    }
+
+    private int[] patchesForChunk(int ccx, int ccy) {
+        if (ccx < 0 || ccy < 0 || ccx >= chunksX || ccy >= chunksY) return NO_PATCHES;
+        return patches[ccy * chunksX + ccx];
+    }
+
+    // Patch centers for one chunk, from a chunk-seeded RNG (independent of generation order).
+    private int[] buildPatches(int ccx, int ccy) {
+        long key = chunkKey(ccx, ccy);
+        int x0 = ccx * CHUNK, y0 = ccy * CHUNK;
+        int w = Math.min(CHUNK, cols - x0), h = Math.min(CHUNK, rows - y0);
+
+        // expected patches = density * this chunk's (sampled) inner grass area
+        int inner = 0;
+        for (int sy = 0; sy < PATCH_SAMPLES; sy++) {
+            for (int sx = 0; sx < PATCH_SAMPLES; sx++) {
+                float v = heightAt(x0 + sx * w / PATCH_SAMPLES, y0 + sy * h / PATCH_SAMPLES);
+                if (v >= INNER_GRASS_LOW && v < INNER_GRASS_HIGH) inner++;
+            }
+        }
+        float expected = patchesPerGrassCell * w * h * inner / (float)(PATCH_SAMPLES * PATCH_SAMPLES);
+
+        RandomXS128 rng = new RandomXS128(seed * 9973L ^ key * 0x9E3779B97F4A7C15L);
+        int count = (int)expected;
+        if (rng.nextFloat() < expected - count) count++;
+
+        int[] tmp = new int[count * 4];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            // Pick a center well inside grass; give up on this patch if the chunk has none
+            int cx = -1, cy = -1;
+            for (int tries = 0; tries < 64; tries++) {
+                int tx = x0 + rng.nextInt(w), ty = y0 + rng.nextInt(h);
+                float v = heightAt(tx, ty);
+                if (v >= INNER_GRASS_LOW && v < INNER_GRASS_HIGH) { cx = tx; cy = ty; break; }
+            }
+            if (cx < 0) continue;
+
+            tmp[n++] = cx;
+            tmp[n++] = cy;
+            tmp[n++] = minR + rng.nextInt(maxR - minR + 1);
+            tmp[n++] = rng.nextFloat() < 0.6f ? 1 : 2; // bias to dirt
+        }
+        return n == tmp.length ? tmp : java.util.Arrays.copyOf(tmp, n);
+    }
+
+    static long chunkKey(int cx, int cy) {
+        return ((long)cx << 32) | (cy & 0xffffffffL);
+    }
+
+    // --------- fBm (value noise + bilinear) ----------
+    private float fbm(float x, float y, int octaves, float gain, float lacunarity) {
+        float amp = 1f, sum = 0f, norm = 0f;
+        float fx = x, fy = y;
+        for (int i = 0; i < octaves; i++) {
+            sum += amp * valueNoise(fx, fy);
+            norm += amp;
+            amp *= gain;
+            fx *= lacunarity;
+            fy *= lacunarity;
+        }
+        return (norm > 0f) ? (sum / norm * 2f - 1f) : 0f; // [-1,1]
+    }
+
+    // Value noise in [0,1] with smooth interpolation
+    private float valueNoise(float x, float y) {
+        int xi = (int)Math.floor(x);
+        int yi = (int)Math.floor(y);
+        float xf = x - xi;
+        float yf = y - yi;
+
+        float v00 = hash01(xi,     yi);
+        float v10 = hash01(xi + 1, yi);
+        float v01 = hash01(xi,     yi + 1);
+        float v11 = hash01(xi + 1, yi + 1);
+
+        float u = xf * xf * (3f - 2f * xf);
+        float v = yf * yf * (3f - 2f * yf);
+
+        float i1 = MathUtils.lerp(v00, v10, u);
+        float i2 = MathUtils.lerp(v01, v11, u);
+        return MathUtils.lerp(i1, i2, v); // [0,1]
+    }
+
+    private float hash01(int x, int y) {
+        int n = x * 374761393 ^ y * 668265263 ^ seed;
+        n = (n ^ (n >>> 13)) * 1274126177;
+        n = n ^ (n >>> 16);
+        return (n & 0x7fffffff) / (float)0x7fffffff;
+    }
+}
@@ -0,0 +1,39 @@
+package com.rgs.runesurvivor.world;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Terrain work that needs more of the JVM than the web build has (GWT has no fork/join, files
+ * or memory mapping).
+ * Desktop and Android pass {@link com.rgs.runesurvivor.world.jvm.JvmTerrainPlatform} to the game;
+ * the web build keeps {@link #SERIAL}. That package is left out of the GWT modules.
+ */
+public interface TerrainPlatform {
+
+    /**
+     * Heights and base codes (before patches) for a cell window, row-major; must give the same
+     * output as {@link TerrainGenerator#fillRows} over all {@code h} rows.
+     */
+    void fillHeightField(TerrainGenerator gen, float[] height, byte[] codes, int x0, int y0, int w, int h);
+
+    /** False if {@link #writeCache} would drop the data (so there is no point encoding it). */
+    boolean hasCache();
+
+    /** A stored island, or null (missing, stale, unreadable, or no cache on this platform). */
+    TerrainCache openCache(long seed, int cols, int rows, float cellWorld);
+
+    /** Store a {@link TerrainCache#encode encoded} island (runs on the island's worker). */
+    void writeCache(long seed, int cols, int rows, ByteBuffer data);
+
+    /** Everything on the calling thread, no cache. */
+    TerrainPlatform SERIAL = new TerrainPlatform() {
+        @Override
+        public void fillHeightField(TerrainGenerator gen, float[] height, byte[] codes, int x0, int y0, int w, int h) {
+            gen.fillRows(height, codes, x0, y0, w, 0, h);
+        }
+
+        @Override public boolean hasCache() { return false; }
+        @Override public TerrainCache openCache(long seed, int cols, int rows, float cellWorld) { return null; }
+        @Override public void writeCache(long seed, int cols, int rows, ByteBuffer data) {}
+    };
+}
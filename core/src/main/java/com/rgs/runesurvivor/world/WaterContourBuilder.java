@@ -0,0 +1,140 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Traces the land/water cell borders of a terrain grid into closed contours.
+ * Every border is walked along the cell lattice with water on the left (CCW around water),
+ * and runs of collinear unit edges are merged, so a whole coastline becomes one ChainShape loop
+ * instead of one EdgeShape body per cell side.
+ */
+public class WaterContourBuilder {
+
+    /** Grid water lookup; only called for cells inside the traced window. */
+    public interface CellMask { boolean isWater(int x, int y); }
+
+    /** Traced contours in world units, plus before/after counts. */
+    public static class Result {
+        public final Array<float[]> loops = new Array<>(); // x0,y0,x1,y1,... (closed, CCW around water)
+        public int unitEdges;   // cell-side edges (= bodies the per-edge builder created)
+        public int segments;    // chain segments after collinear merge
+    }
+
+    // lattice directions: E, N, W, S
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    /**
+     * Trace the window [x0, x0+w) x [y0, y0+h) of the grid. Cells outside the window count as land,
+     * which matches the old behaviour of closing water along the grid border.
+     */
+    public static Result trace(CellMask mask, int x0, int y0, int w, int h,
+                               float originX, float originY, float cellWorld) {
+        final int vw = w + 1;
+        final byte[] out = new byte[vw * (h + 1)]; // outgoing edge bits per lattice vertex
+        Result res = new Result();
+
+        // ---- 1) Collect directed border edges (water on the left) ----
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                if (!mask.isWater(x0 + x, y0 + y)) continue;
+
+                boolean below = y > 0     && mask.isWater(x0 + x, y0 + y - 1);
+                boolean right = x + 1 < w && mask.isWater(x0 + x + 1, y0 + y);
+                boolean above = y + 1 < h && mask.isWater(x0 + x, y0 + y + 1);
+                boolean left  = x > 0     && mask.isWater(x0 + x - 1, y0 + y);
+
+                if (!below) { out[y * vw + x]             |= 1;     res.unitEdges++; } // (x,y)     -> E
+                if (!right) { out[y * vw + x + 1]         |= 1 << 1; res.unitEdges++; } // (x+1,y)   -> N
+                if (!above) { out[(y + 1) * vw + x + 1]   |= 1 << 2; res.unitEdges++; } // (x+1,y+1) -> W
+                if (!left)  { out[(y + 1) * vw + x]       |= 1 << 3; res.unitEdges++; } // (x,y+1)   -> S
+            }
+        }
+
+        // ---- 2) Walk loops, keeping only the corners ----
+        IntArray verts = new IntArray();
+        IntArray dirs  = new IntArray();
+        for (int start = 0; start < out.length; start++) {
+            while (out[start] != 0) {
+                verts.clear();
+                dirs.clear();
+
+                int d0 = Integer.numberOfTrailingZeros(out[start]);
+                int v = start, d = d0;
+                while (true) {
+                    verts.add(v);
+                    dirs.add(d);
+                    if (v != start || d != d0) out[v] &= ~(1 << d);
+
+                    v += DX[d] + DY[d] * vw;
+                    int next = pickTurn(out[v], d);
+                    if (next < 0) break;                 // open path; should not happen on a closed grid
+                    if (v == start && next == d0) {      // back on the first edge: loop closed
+                        out[start] &= ~(1 << d0);
+                        break;
+                    }
+                    d = next;
+                }
+
+                // collinear merge: a vertex is a corner when the direction changes
+                int n = dirs.size;
+                int corners = 0;
+                for (int i = 0; i < n; i++) if (dirs.get(i) != dirs.get((i + n - 1) % n)) corners++;
+                if (corners < 3) continue;
+
+                float[] loop = new float[corners * 2];
+                int k = 0;
+                for (int i = 0; i < n; i++) {
+                    if (dirs.get(i) == dirs.get((i + n - 1) % n)) continue;
+                    int lv = verts.get(i);
+                    loop[k++] = originX + (x0 + lv % vw) * cellWorld;
+                    loop[k++] = originY + (y0 + lv / vw) * cellWorld;
+                }
+                res.loops.add(loop);
+                res.segments += corners;
+            }
+        }
+        return res;
+    }
+
+    // At a saddle (two outgoing edges) prefer the left turn so diagonal water cells stay separate loops.
+    private static int pickTurn(byte bits, int inDir) {
+        if (bits == 0) return -1;
+        int left = (inDir + 1) & 3, straight = inDir, right = (inDir + 3) & 3;
+        if ((bits & (1 << left)) != 0)     return left;
+        if ((bits & (1 << straight)) != 0) return straight;
+        if ((bits & (1 << right)) != 0)    return right;
+        return -1; // only a U-turn left, which a valid border never needs
+    }
+
+    /** One static body with a ChainShape loop fixture per contour (loops in px, the body in meters). */
+    public static Body createBody(World world, Array<float[]> loops) {
+        BodyDef bd = new BodyDef();
+        bd.type = BodyDef.BodyType.StaticBody;
+        Body body = world.createBody(bd);
+
+        float[] meters = new float[0];
+        for (float[] loop : loops) {
+            if (meters.length < loop.length) meters = new float[loop.length];
+            for (int k = 0; k < loop.length; k++) meters[k] = loop[k] * PhysicsScale.MPP;
+            ChainShape chain = new ChainShape();
+            chain.createLoop(meters, 0, loop.length);
+
+            FixtureDef fd = new FixtureDef();
+            fd.shape = chain;
+            fd.friction = 0.9f;
+            fd.restitution = 0f;
+            fd.density = 0f;
+            CollisionLayers.apply(fd.filter, CollisionLayers.WATER_EDGE);
+            body.createFixture(fd);
+            chain.dispose();
+        }
+        return body;
+    }
+}
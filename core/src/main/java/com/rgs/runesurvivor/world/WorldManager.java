@@ -1,33 +1,86 @@
 package com.rgs.runesurvivor.world;
 
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.physics.box2d.World;
 
 public class WorldManager {
-    private World world;
+    /** Fixed simulation step (seconds): physics and every gameplay system advance by this much. */
+    public static final float STEP = 1f / 60f;
+
+    private World world;                       // in meters (see PhysicsScale)
     private Box2DDebugRenderer debug;
     private boolean debugEnabled = false;
+    private final Matrix4 debugMatrix = new Matrix4();
+    private final CollisionFilter collisionFilter = new CollisionFilter();  // per-layer-pair policy + counts
+
+    // Meter-sized bodies converge well below Box2D's usual 8/3
+    private int velocityIterations = 4;
+    private int positionIterations = 2;
+
+    // Fixed-step clock: frame time is banked here and spent in whole steps
+    private float accumulator;
+    private int maxSubsteps = 5;   // per frame; past this the game slows down instead of spiralling
+    private int droppedSteps;
 
     public WorldManager() {
         world = new World(new Vector2(0, 0), true);
+        world.setContactFilter(collisionFilter);
+        world.setContactListener(collisionFilter);
         debug = new Box2DDebugRenderer();
     }
 
     public World getWorld() { return world; }
+    /** Contact policy (crowd threshold) and per-pair contact counts. */
+    public CollisionFilter getCollisionFilter() { return collisionFilter; }
 
     public void toggleDebug() { debugEnabled = !debugEnabled; }
     public void setDebug(boolean enabled) { debugEnabled = enabled; }
+    public boolean isDebugEnabled() { return debugEnabled; }
+
+    /**
+     * Bank one frame's time; returns how many fixed steps to run now (at most {@code maxSubsteps},
+     * whole steps beyond that are dropped so a long hitch can't snowball into longer frames).
+     */
+    public int accumulate(float frameDelta) {
+        accumulator += Math.max(0f, frameDelta);
+        int steps = (int)(accumulator / STEP);
+        if (steps > maxSubsteps) {
+            droppedSteps += steps - maxSubsteps;
+            steps = maxSubsteps;
+        }
+        accumulator -= steps * STEP;
+        if (accumulator >= STEP) accumulator %= STEP;   // the dropped time
+        return steps;
+    }
+
+    /** Banked fraction of a step (0..1): blend factor from the previous to the current physics state. */
+    public float getAlpha() { return Math.min(1f, accumulator / STEP); }
+
+    /**
+     * Forget banked time (after a pause, respawn or load, so the next frame doesn't catch up).
+     * Owned by whoever calls {@link #accumulate}: post it to the simulation once that is running.
+     */
+    public void resetClock() { accumulator = 0f; }
+
+    public int getDroppedSteps() { return droppedSteps; }
+    public void setMaxSubsteps(int n) { maxSubsteps = Math.max(1, n); }
+    public void setSolverIterations(int velocity, int position) {
+        velocityIterations = Math.max(1, velocity);
+        positionIterations = Math.max(1, position);
+    }
 
+    /** One fixed physics step. */
     public void step() {
         if (world == null) return;
-        world.step(1f/60f, 6, 2);
+        world.step(STEP, velocityIterations, positionIterations);
     }
 
     public void debugRender(Camera cam) {
         if (!debugEnabled || world == null) return;
-        debug.render(world, cam.combined);
+        debug.render(world, debugMatrix.set(cam.combined).scl(PhysicsScale.PPM)); // meters -> px view
     }
 
     public void dispose() {
@@ -0,0 +1,43 @@
+package com.rgs.runesurvivor.world;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Terrain as the rest of the game sees it: one island ({@link IslandRenderer}) or a whole
+ * {@link Archipelago}. Anything not covered by an island reads as water.
+ */
+public interface WorldTerrain {
+
+    /** Packed terrain code (see {@code IslandRenderer.CODE_*}) at a world position. */
+    byte getCodeAtWorld(float wx, float wy);
+
+    boolean isWaterWorld(float wx, float wy);
+
+    IslandRenderer.TerrainType getTerrainAtWorld(float wx, float wy);
+
+    /** Side of one terrain cell (world units). Cells sit on a lattice anchored at the world origin. */
+    float getCellSize();
+
+    /**
+     * Codes of a w*h block of cells whose bottom-left corner is (minX,minY) (on the cell lattice),
+     * row-major into {@code out}; anything off the terrain is {@code IslandRenderer.CODE_OUTSIDE}.
+     */
+    void getCodesInRect(float minX, float minY, int w, int h, byte[] out);
+
+    /** Bumped whenever cached terrain reads may be stale (e.g. an island paged in or out). */
+    int getTerrainVersion();
+
+    /** Nearest safe land to (wx,wy) into {@code out}; false if none within {@code maxRadiusCells}. */
+    boolean findNearestLand(float wx, float wy, int maxRadiusCells, Vector2 out);
+
+    /** Safe land near the home island's center (new games, respawn). */
+    Vector2 findCenterLandSpawn();
+
+    /** Build/evict whatever the camera view needs. */
+    void updateStreaming(Camera cam);
+
+    /** Ground layer. */
+    void render(SpriteBatch batch);
+}
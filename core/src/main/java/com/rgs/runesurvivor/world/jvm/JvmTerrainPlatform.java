@@ -0,0 +1,110 @@
+package com.rgs.runesurvivor.world.jvm;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.rgs.runesurvivor.world.TerrainCache;
+import com.rgs.runesurvivor.world.TerrainGenerator;
+import com.rgs.runesurvivor.world.TerrainPlatform;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Desktop / Android terrain platform: the height pass runs in row bands on a ForkJoinPool, and
+ * island caches are files in local storage, read through a read-only memory map.
+ * Not compiled for the web build (excluded in the GWT modules).
+ */
+public class JvmTerrainPlatform implements TerrainPlatform {
+
+    private static final int BAND_ROWS = 8;
+
+    private final ForkJoinPool pool;
+
+    /** Row bands on the common pool. */
+    public JvmTerrainPlatform() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public JvmTerrainPlatform(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getPool() { return pool; }
+
+    /** Where the cache for this island lives (local storage). */
+    public static FileHandle fileFor(long seed, int cols, int rows) {
+        return Gdx.files.local("cache/terrain-" + Long.toHexString(seed) + "-" + cols + "x" + rows
+            + "-v" + TerrainGenerator.GEN_VERSION + ".bin");
+    }
+
+    @Override
+    public boolean hasCache() { return true; }
+
+    @Override
+    public TerrainCache openCache(long seed, int cols, int rows, float cellWorld) {
+        FileHandle file = fileFor(seed, cols, rows);
+        if (!file.exists()) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(file.file(), "r");
+             FileChannel ch = raf.getChannel()) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return TerrainCache.wrap(buf, seed, cols, rows, cellWorld);
+        } catch (IOException | RuntimeException e) {
+            return null; // treat as a miss
+        }
+    }
+
+    /** Written to a temp file first, so a half-written cache is never mapped. */
+    @Override
+    public void writeCache(long seed, int cols, int rows, ByteBuffer data) {
+        FileHandle file = fileFor(seed, cols, rows);
+        FileHandle tmp = file.sibling(file.name() + ".tmp");
+        try {
+            file.parent().mkdirs();
+            try (RandomAccessFile raf = new RandomAccessFile(tmp.file(), "rw");
+                 FileChannel ch = raf.getChannel()) {
+                raf.setLength(0);
+                while (data.hasRemaining()) ch.write(data);
+            }
+            tmp.moveTo(file);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("TerrainCache", "could not write " + file.path(), e);
+            tmp.delete();
+        }
+    }
+
+    @Override
+    public void fillHeightField(TerrainGenerator gen, float[] height, byte[] codes, int x0, int y0, int w, int h) {
+        pool.invoke(new BandTask(gen, height, codes, x0, y0, w, 0, h));
+    }
+
+    // Rows [r0, r1) of a window; splits until a band is small enough. Every cell goes through
+    // heightAt(), so the output is bit-identical however the rows are split.
+    private static class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final TerrainGenerator gen;
+        final float[] height;           // row-major outputs
+        final byte[] codes;
+        final int x0, y0, w, r0, r1;
+
+        BandTask(TerrainGenerator gen, float[] height, byte[] codes, int x0, int y0, int w, int r0, int r1) {
+            this.gen = gen; this.height = height; this.codes = codes;
+            this.x0 = x0; this.y0 = y0; this.w = w; this.r0 = r0; this.r1 = r1;
+        }
+
+        @Override protected void compute() {
+            if (r1 - r0 > BAND_ROWS) {
+                int mid = (r0 + r1) >>> 1;
+                invokeAll(new BandTask(gen, height, codes, x0, y0, w, r0, mid),
+                          new BandTask(gen, height, codes, x0, y0, w, mid, r1));
+                return;
+            }
+            gen.fillRows(height, codes, x0, y0, w, r0, r1);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.rgs.runesurvivor.lwjgl3;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
+import com.rgs.runesurvivor.entities.Enemy;
+import com.rgs.runesurvivor.world.CollisionLayers;
+import com.rgs.runesurvivor.world.CrowdSolver;
+import com.rgs.runesurvivor.world.EnemyGrid;
+import com.rgs.runesurvivor.world.EnemyStore;
+import com.rgs.runesurvivor.world.PhysicsScale;
+import com.rgs.runesurvivor.world.WorldManager;
+
+/**
+ * Enemy physics cost, Box2D bodies vs. the {@link CrowdSolver}: N enemies start scattered over a disc
+ * and all chase its center (the worst case: one dense, fully-touching blob around a ring of trees).
+ * Prints the average time per fixed step and how much the circles still overlap at the end.
+ * Run with {@code ./gradlew lwjgl3:crowdBenchmark}; optional arguments replace the enemy counts.
+ */
+public class CrowdBenchmark {
+    private static final long SEED = 0xC40DL;
+    private static final int WARM_UP = 30;
+    private static final int STEPS = 120;
+    private static final float ACCEL = Enemy.CHASE_SPEED / 0.25f;
+    private static final int TREES = 24;
+
+    public static void main(String[] args) {
+        Box2D.init();
+        int[] counts = { 1000, 2500, 5000, 10000 };
+        if (args.length > 0) {
+            counts = new int[args.length];
+            for (int k = 0; k < args.length; k++) counts[k] = Integer.parseInt(args[k]);
+        }
+
+        runBox2d(1000, (float)Math.sqrt(1000) * Enemy.SIZE);  // JIT warm-up, not reported
+        runCrowd(1000, (float)Math.sqrt(1000) * Enemy.SIZE);
+
+        for (int n : counts) {
+            float spread = (float)Math.sqrt(n) * Enemy.SIZE;  // ~ twice the packed blob's radius
+            Result box2d = runBox2d(n, spread);
+            Result crowd = runCrowd(n, spread);
+            System.out.printf("%6d enemies: box2d %8.3f ms/step (overlap avg %.2f max %.2f) | "
+                    + "crowd %8.3f ms/step (overlap avg %.2f max %.2f, %d/%d trees) | speedup %.1fx%n",
+                n, box2d.msPerStep, box2d.avgOverlap, box2d.maxOverlap,
+                crowd.msPerStep, crowd.avgOverlap, crowd.maxOverlap, crowd.trees, TREES,
+                box2d.msPerStep / crowd.msPerStep);
+        }
+    }
+
+    private static final class Result {
+        double msPerStep;
+        float avgOverlap, maxOverlap;
+        int trees;          // static circles the crowd solver collided against (should be TREES)
+    }
+
+    // Box2D as the game drives it: sync from the bodies, apply the steering, step the world
+    private static Result runBox2d(int n, float spread) {
+        World world = new World(Vector2.Zero, true);
+        addTrees(world, spread);
+        EnemyStore s = new EnemyStore(n);
+        RandomXS128 rng = new RandomXS128(SEED);
+        for (int k = 0; k < n; k++) {
+            Vector2 p = scatter(rng, spread);
+            s.add(Enemy.createBody(world, p.x, p.y), Enemy.MAX_HP);
+        }
+
+        long total = 0;
+        for (int step = 0; step < WARM_UP + STEPS; step++) {
+            long t0 = System.nanoTime();
+            s.syncFromBodies();
+            steerToCenter(s);
+            Enemy.applyMotion(s);
+            world.step(WorldManager.STEP, 4, 2);  // as WorldManager steps it
+            if (step >= WARM_UP) total += System.nanoTime() - t0;
+        }
+        s.syncFromBodies();
+        Result r = measure(s, total);
+        world.dispose();
+        return r;
+    }
+
+    private static Result runCrowd(int n, float spread) {
+        World world = new World(Vector2.Zero, true);  // only holds the trees
+        addTrees(world, spread);
+        CrowdSolver solver = new CrowdSolver(world, null);
+        EnemyStore s = new EnemyStore(n);
+        RandomXS128 rng = new RandomXS128(SEED);
+        for (int k = 0; k < n; k++) {
+            Vector2 p = scatter(rng, spread);
+            s.add(p.x, p.y, Enemy.MAX_HP);
+        }
+
+        long total = 0;
+        for (int step = 0; step < WARM_UP + STEPS; step++) {
+            long t0 = System.nanoTime();
+            steerToCenter(s);
+            solver.step(s, WorldManager.STEP, 0f, 0f, 0f);
+            if (step >= WARM_UP) total += System.nanoTime() - t0;
+        }
+        Result r = measure(s, total);
+        r.trees = solver.getStaticCount();
+        world.dispose();
+        return r;
+    }
+
+    private static final Vector2 tmp = new Vector2();
+
+    private static Vector2 scatter(RandomXS128 rng, float spread) {
+        float a = rng.nextFloat() * MathUtils.PI2;
+        float d = (float)Math.sqrt(rng.nextFloat()) * spread;
+        return tmp.set(MathUtils.cos(a) * d, MathUtils.sin(a) * d);
+    }
+
+    // static circles like ResourceManager's nodes (same layer, so both solvers see them), on a ring through the crowd
+    private static void addTrees(World world, float spread) {
+        CircleShape cs = new CircleShape();
+        cs.setRadius(PhysicsScale.toMeters(30f));
+        FixtureDef fd = new FixtureDef();
+        fd.shape = cs;
+        CollisionLayers.apply(fd.filter, CollisionLayers.STATIC_NODE);
+        for (int k = 0; k < TREES; k++) {
+            float a = k * MathUtils.PI2 / TREES;
+            BodyDef bd = new BodyDef();
+            bd.type = BodyDef.BodyType.StaticBody;
+            bd.position.set(PhysicsScale.toMeters(MathUtils.cos(a) * spread * 0.4f),
+                PhysicsScale.toMeters(MathUtils.sin(a) * spread * 0.4f));
+            Body b = world.createBody(bd);
+            b.createFixture(fd);
+        }
+        cs.dispose();
+    }
+
+    // everyone chases the origin
+    private static void steerToCenter(EnemyStore s) {
+        for (int i = 0; i < s.size; i++) {
+            float dx = -s.x[i], dy = -s.y[i];
+            float len = (float)Math.sqrt(dx * dx + dy * dy);
+            float k = len > 1f ? ACCEL / len : 0f;
+            s.steerX[i] = dx * k;
+            s.steerY[i] = dy * k;
+            s.steerChase[i] = true;
+        }
+    }
+
+    // overlap depth over touching pairs (0 = no circles inside each other)
+    private static Result measure(EnemyStore s, long totalNanos) {
+        EnemyGrid grid = new EnemyGrid(Enemy.SIZE * 2f);
+        grid.rebuild(s);
+        IntArray near = new IntArray();
+        float diam = Enemy.SIZE, sum = 0f, max = 0f;
+        int pairs = 0;
+        for (int i = 0; i < s.size; i++) {
+            grid.queryRadius(s, s.x[i], s.y[i], diam, near);
+            for (int k = 0; k < near.size; k++) {
+                int j = near.items[k];
+                if (j <= i) continue;
+                float depth = diam - Vector2.dst(s.x[i], s.y[i], s.x[j], s.y[j]);
+                if (depth <= 0f) continue;
+                sum += depth;
+                max = Math.max(max, depth);
+                pairs++;
+            }
+        }
+        Result r = new Result();
+        r.msPerStep = totalNanos / 1e6 / STEPS;
+        r.avgOverlap = pairs > 0 ? sum / pairs : 0f;
+        r.maxOverlap = max;
+        return r;
+    }
+}
@@ -3,6 +3,7 @@ package com.rgs.runesurvivor.lwjgl3;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.rgs.runesurvivor.RuneSurvivorGame;
+import com.rgs.runesurvivor.world.jvm.JvmTerrainPlatform;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
@@ -12,7 +13,7 @@ public class Lwjgl3Launcher {
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new RuneSurvivorGame(), getDefaultConfiguration());
+        return new Lwjgl3Application(new RuneSurvivorGame(new JvmTerrainPlatform()), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
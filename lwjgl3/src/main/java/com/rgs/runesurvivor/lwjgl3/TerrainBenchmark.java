@@ -0,0 +1,46 @@
+package com.rgs.runesurvivor.lwjgl3;
+
+import com.rgs.runesurvivor.world.TerrainGenerator;
+import com.rgs.runesurvivor.world.jvm.JvmTerrainPlatform;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times the island height/classification pass single-threaded vs. row bands on a ForkJoinPool,
+ * and checks that both produce bit-identical output for the same seed.
+ * Run with {@code ./gradlew lwjgl3:terrainBenchmark}; an optional argument sets the pool size
+ * (default: the common pool).
+ */
+public class TerrainBenchmark {
+    private static final int SEED = 0x5eed1234;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        ForkJoinPool pool = args.length > 0 ? new ForkJoinPool(Integer.parseInt(args[0])) : ForkJoinPool.commonPool();
+        JvmTerrainPlatform platform = new JvmTerrainPlatform(pool);
+        System.out.println("threads: " + pool.getParallelism());
+
+        for (int n : new int[] { 512, 1024, 2048 }) {
+            TerrainGenerator gen = new TerrainGenerator(n, n, SEED);
+            float[] hRef = new float[n * n], hPar = new float[n * n];
+            byte[] cRef = new byte[n * n], cPar = new byte[n * n];
+
+            long serial = Long.MAX_VALUE, parallel = Long.MAX_VALUE;
+            for (int i = 0; i < RUNS; i++) { // best of RUNS (first runs double as warm-up)
+                long t0 = System.nanoTime();
+                gen.fillHeightField(hRef, cRef, 0, 0, n, n);
+                long t1 = System.nanoTime();
+                platform.fillHeightField(gen, hPar, cPar, 0, 0, n, n);
+                long t2 = System.nanoTime();
+                serial = Math.min(serial, t1 - t0);
+                parallel = Math.min(parallel, t2 - t1);
+            }
+
+            boolean identical = Arrays.equals(hRef, hPar) && Arrays.equals(cRef, cPar);
+            System.out.printf("%4d^2: serial %8.1f ms | fork/join %8.1f ms | speedup %.2fx | identical=%b%n",
+                n, serial / 1e6, parallel / 1e6, serial / (double) parallel, identical);
+            if (!identical) System.exit(1);
+        }
+    }
+}